@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.chrono.HijrahDate;
+import org.threeten.bp.chrono.JapaneseDate;
+import org.threeten.bp.chrono.MinguoDate;
+import org.threeten.bp.chrono.ThaiBuddhistDate;
+
+/**
+ * Benchmarks conversions between the ISO calendar system and other chronologies.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChronologyBenchmark {
+
+    private LocalDate date = LocalDate.of(2015, 6, 30);
+    private JapaneseDate japaneseDate = JapaneseDate.from(date);
+    private HijrahDate hijrahDate = HijrahDate.from(date);
+    private MinguoDate minguoDate = MinguoDate.from(date);
+    private ThaiBuddhistDate thaiBuddhistDate = ThaiBuddhistDate.from(date);
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public JapaneseDate japanese_fromIso() {
+        return JapaneseDate.from(date);
+    }
+
+    @Benchmark
+    public LocalDate japanese_toIso() {
+        return LocalDate.from(japaneseDate);
+    }
+
+    @Benchmark
+    public HijrahDate hijrah_fromIso() {
+        return HijrahDate.from(date);
+    }
+
+    @Benchmark
+    public LocalDate hijrah_toIso() {
+        return LocalDate.from(hijrahDate);
+    }
+
+    @Benchmark
+    public MinguoDate minguo_fromIso() {
+        return MinguoDate.from(date);
+    }
+
+    @Benchmark
+    public LocalDate minguo_toIso() {
+        return LocalDate.from(minguoDate);
+    }
+
+    @Benchmark
+    public ThaiBuddhistDate thaiBuddhist_fromIso() {
+        return ThaiBuddhistDate.from(date);
+    }
+
+    @Benchmark
+    public LocalDate thaiBuddhist_toIso() {
+        return LocalDate.from(thaiBuddhistDate);
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.format.CachingDateTimeFormatter;
+import org.threeten.bp.format.DateTimeFormatter;
+
+/**
+ * Benchmarks formatting and parsing using the predefined ISO formatters.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatterBenchmark {
+
+    private ZonedDateTime zonedDateTime = ZonedDateTime.of(
+            LocalDateTime.of(2015, 6, 30, 12, 30, 40, 987000000), ZoneId.of("Europe/Paris"));
+    private LocalDate date = zonedDateTime.toLocalDate();
+    private LocalDateTime dateTime = zonedDateTime.toLocalDateTime();
+    private OffsetDateTime offsetDateTime = zonedDateTime.toOffsetDateTime();
+    private Instant instant = zonedDateTime.toInstant();
+    private String dateText = DateTimeFormatter.ISO_LOCAL_DATE.format(date);
+    private String dateTimeText = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime);
+    private String offsetDateTimeText = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(offsetDateTime);
+    private String zonedDateTimeText = DateTimeFormatter.ISO_ZONED_DATE_TIME.format(zonedDateTime);
+    private String instantText = DateTimeFormatter.ISO_INSTANT.format(instant);
+    private DateTimeFormatter numericPattern = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private CachingDateTimeFormatter cachingPattern = CachingDateTimeFormatter.of(numericPattern);
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public String format_isoLocalDate() {
+        return DateTimeFormatter.ISO_LOCAL_DATE.format(date);
+    }
+
+    @Benchmark
+    public String format_isoLocalDateTime() {
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime);
+    }
+
+    @Benchmark
+    public String format_isoOffsetDateTime() {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(offsetDateTime);
+    }
+
+    @Benchmark
+    public String format_isoZonedDateTime() {
+        return DateTimeFormatter.ISO_ZONED_DATE_TIME.format(zonedDateTime);
+    }
+
+    @Benchmark
+    public String format_isoInstant() {
+        return DateTimeFormatter.ISO_INSTANT.format(instant);
+    }
+
+    @Benchmark
+    public String format_numericPattern() {
+        return numericPattern.format(zonedDateTime);
+    }
+
+    @Benchmark
+    public String format_cachingPattern() {
+        return cachingPattern.format(zonedDateTime);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public LocalDate parse_isoLocalDate() {
+        return LocalDate.parse(dateText, DateTimeFormatter.ISO_LOCAL_DATE);
+    }
+
+    @Benchmark
+    public LocalDateTime parse_isoLocalDateTime() {
+        return LocalDateTime.parse(dateTimeText, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    @Benchmark
+    public OffsetDateTime parse_isoOffsetDateTime() {
+        return OffsetDateTime.parse(offsetDateTimeText, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    @Benchmark
+    public ZonedDateTime parse_isoZonedDateTime() {
+        return ZonedDateTime.parse(zonedDateTimeText, DateTimeFormatter.ISO_ZONED_DATE_TIME);
+    }
+
+    @Benchmark
+    public Instant parse_isoInstant() {
+        return Instant.parse(instantText);
+    }
+
+}
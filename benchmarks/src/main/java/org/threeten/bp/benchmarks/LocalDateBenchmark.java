@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.threeten.bp.Duration;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.Period;
+import org.threeten.bp.temporal.ChronoUnit;
+
+/**
+ * Benchmarks arithmetic on {@code LocalDate} and {@code LocalDateTime}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocalDateBenchmark {
+
+    private LocalDate date = LocalDate.of(2015, 6, 30);
+    private LocalDate otherDate = LocalDate.of(2019, 2, 11);
+    private long epochDay = date.toEpochDay();
+    private LocalDateTime dateTime = LocalDateTime.of(2015, 6, 30, 12, 30, 40, 987654321);
+    private Period period = Period.of(1, 2, 3);
+    private Duration duration = Duration.ofSeconds(98765, 4321);
+    private long[] epochDays = new long[1000];
+    private int[] years = new int[1000];
+    private int[] months = new int[1000];
+    private int[] days = new int[1000];
+    private long[] encoded = new long[1000];
+    private long[] spreadEpochDays = new long[1000];
+    private LocalDate[] spreadDates = new LocalDate[1000];
+    {
+        for (int i = 0; i < epochDays.length; i++) {
+            epochDays[i] = epochDay + i;
+            spreadEpochDays[i] = (i * 7919L) % 1000000L - 500000L;
+            spreadDates[i] = LocalDate.ofEpochDay(spreadEpochDays[i]);
+        }
+        LocalDate.decodeEpochDays(epochDays, years, months, days);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public LocalDate localDate_plusDays() {
+        return date.plusDays(45);
+    }
+
+    @Benchmark
+    public LocalDate localDate_plusMonths() {
+        return date.plusMonths(8);
+    }
+
+    @Benchmark
+    public LocalDate localDate_plusPeriod() {
+        return date.plus(period);
+    }
+
+    @Benchmark
+    public long localDate_untilDays() {
+        return date.until(otherDate, ChronoUnit.DAYS);
+    }
+
+    @Benchmark
+    public Period localDate_untilPeriod() {
+        return date.until(otherDate);
+    }
+
+    @Benchmark
+    public long localDate_toEpochDay() {
+        return date.toEpochDay();
+    }
+
+    @Benchmark
+    public LocalDate localDate_ofEpochDay() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    @Benchmark
+    public long localDate_ofEpochDay_spread1000() {
+        long total = 0;
+        for (int i = 0; i < spreadEpochDays.length; i++) {
+            LocalDate d = LocalDate.ofEpochDay(spreadEpochDays[i]);
+            total += d.getYear() + d.getMonthValue() + d.getDayOfMonth();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long localDate_toEpochDay_spread1000() {
+        long total = 0;
+        for (int i = 0; i < spreadDates.length; i++) {
+            total += spreadDates[i].toEpochDay();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int[] localDate_ofEpochDay_loop1000() {
+        for (int i = 0; i < epochDays.length; i++) {
+            LocalDate d = LocalDate.ofEpochDay(epochDays[i]);
+            years[i] = d.getYear();
+            months[i] = d.getMonthValue();
+            days[i] = d.getDayOfMonth();
+        }
+        return days;
+    }
+
+    @Benchmark
+    public int[] localDate_decodeEpochDays_1000() {
+        LocalDate.decodeEpochDays(epochDays, years, months, days);
+        return days;
+    }
+
+    @Benchmark
+    public long[] localDate_encodeEpochDays_1000() {
+        LocalDate.encodeEpochDays(years, months, days, encoded);
+        return encoded;
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public LocalDateTime localDateTime_plusHours() {
+        return dateTime.plusHours(30);
+    }
+
+    @Benchmark
+    public LocalDateTime localDateTime_plusNanos() {
+        return dateTime.plusNanos(123456789);
+    }
+
+    @Benchmark
+    public LocalDateTime localDateTime_plusDuration() {
+        return dateTime.plus(duration);
+    }
+
+    @Benchmark
+    public long localDateTime_untilSeconds() {
+        return dateTime.until(dateTime.plusDays(3), ChronoUnit.SECONDS);
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.zone.ZoneOffsetTransition;
+import org.threeten.bp.zone.ZoneRules;
+
+/**
+ * Benchmarks lookups in the time-zone rules.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZoneRulesBenchmark {
+
+    private static final int BULK_SIZE = 1000;
+
+    private ZoneRules rules = ZoneId.of("America/New_York").getRules();
+    private Instant historic = Instant.parse("1950-06-30T12:00:00Z");
+    private Instant current = Instant.parse("2015-06-30T12:00:00Z");
+    private Instant future = Instant.parse("2150-06-30T12:00:00Z");
+    private LocalDateTime localDateTime = LocalDateTime.of(2015, 6, 30, 12, 0);
+    private LocalDateTime gapDateTime = LocalDateTime.of(2015, 3, 8, 2, 30);
+    private long[] epochSeconds = new long[BULK_SIZE];
+    private int[] offsetSeconds = new int[BULK_SIZE];
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < BULK_SIZE; i++) {
+            epochSeconds[i] = current.getEpochSecond() + i * 3600L;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public ZoneOffset getOffset_instant_historic() {
+        return rules.getOffset(historic);
+    }
+
+    @Benchmark
+    public ZoneOffset getOffset_instant_current() {
+        return rules.getOffset(current);
+    }
+
+    @Benchmark
+    public ZoneOffset getOffset_instant_future() {
+        return rules.getOffset(future);
+    }
+
+    @Benchmark
+    public int[] getOffsetSeconds_bulk() {
+        rules.getOffsetSeconds(epochSeconds, offsetSeconds);
+        return offsetSeconds;
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public ZoneOffset getOffset_localDateTime() {
+        return rules.getOffset(localDateTime);
+    }
+
+    @Benchmark
+    public List<ZoneOffset> getValidOffsets() {
+        return rules.getValidOffsets(localDateTime);
+    }
+
+    @Benchmark
+    public ZoneOffsetTransition getTransition_gap() {
+        return rules.getTransition(gapDateTime);
+    }
+
+    @Benchmark
+    public ZoneOffsetTransition nextTransition() {
+        return rules.nextTransition(current);
+    }
+
+}
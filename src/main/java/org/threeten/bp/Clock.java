@@ -35,7 +35,16 @@ import static org.threeten.bp.LocalTime.NANOS_PER_MINUTE;
 import static org.threeten.bp.LocalTime.NANOS_PER_SECOND;
 
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.threeten.bp.jdk8.Jdk8Methods;
 
@@ -157,7 +166,56 @@ public abstract class Clock {
         return new SystemClock(zone);
     }
 
+    /**
+     * Obtains a clock that returns the current instant with nanosecond resolution
+     * using {@link System#nanoTime()}.
+     * <p>
+     * This clock measures elapsed time using {@code System.nanoTime()} from an anchor
+     * taken from {@link System#currentTimeMillis()}. The anchor is checked against the
+     * wall clock roughly once a second, and is corrected if the two have diverged by more
+     * than the granularity of the wall clock, bounding the drift. A clock that has run
+     * ahead by up to a second is slewed back by running slightly slow, larger corrections
+     * are stepped. The instants returned by a single clock, and by clocks obtained from it
+     * via {@link #withZone(ZoneId)}, never decrease. If the wall clock is set backwards
+     * by more than a second, this clock pauses until it catches up.
+     * <p>
+     * The absolute accuracy is no better than that of the wall clock, but the ordering
+     * of events within a millisecond is preserved, making this clock suitable for tracing.
+     * <p>
+     * The returned implementation is thread-safe and {@code Serializable}.
+     * A deserialized clock starts with a new anchor.
+     *
+     * @param zone  the time-zone to use to convert the instant to date-time, not null
+     * @return a clock with nanosecond resolution that uses the specified zone, not null
+     */
+    public static Clock systemNanos(ZoneId zone) {
+        Jdk8Methods.requireNonNull(zone, "zone");
+        return new NanoClock(zone, new NanoSource());
+    }
+
     //-------------------------------------------------------------------------
+    /**
+     * Obtains a clock that returns the current instant ticking in whole milliseconds
+     * using best available system clock.
+     * <p>
+     * This clock will always have the nano-of-second field truncated to milliseconds.
+     * This ensures that the visible time ticks in whole milliseconds.
+     * The underlying clock is the best available system clock, equivalent to
+     * using {@link #system(ZoneId)}.
+     * <p>
+     * The same {@code Instant} is returned for all calls within a tick, allowing the
+     * clock to be queried in tight loops without allocation.
+     * <p>
+     * The returned implementation is immutable, thread-safe and {@code Serializable}.
+     * It is equivalent to {@code tick(system(zone), Duration.ofMillis(1))}.
+     *
+     * @param zone  the time-zone to use to convert the instant to date-time, not null
+     * @return a clock that ticks in whole milliseconds using the specified zone, not null
+     */
+    public static Clock tickMillis(ZoneId zone) {
+        return new TickClock(system(zone), 1000000L);
+    }
+
     /**
      * Obtains a clock that returns the current instant ticking in whole seconds
      * using best available system clock.
@@ -305,6 +363,44 @@ public abstract class Clock {
         return new OffsetClock(baseClock, offsetDuration);
     }
 
+    //-------------------------------------------------------------------------
+    /**
+     * Obtains a clock that returns a cached instant from the specified clock,
+     * refreshed in the background at the specified resolution.
+     * <p>
+     * This clock is intended for high performance use cases where many events are
+     * timestamped and precision finer than the resolution is not required.
+     * A single shared daemon thread queries the base clock once per resolution and
+     * publishes the result. Querying this clock is then a simple memory read,
+     * with {@link Instant#now(Clock)} returning the shared instant without allocation.
+     * {@link ZonedDateTime#now(Clock)} also returns a shared instance for each update.
+     * <p>
+     * The instant returned may lag behind the base clock by up to the resolution,
+     * or more if the background thread is delayed. Clocks obtained via
+     * {@link #withZone(ZoneId)}, and cached clocks with an equal base clock and resolution,
+     * share the same background refresh.
+     * The refresh stops once all clocks sharing it are no longer referenced.
+     * <p>
+     * The returned implementation is thread-safe and {@code Serializable}
+     * providing that the base clock is. A deserialized clock shares or starts a refresh
+     * in the same way.
+     *
+     * @param baseClock  the base clock to cache, not null
+     * @param resolution  the interval between refreshes, at least one millisecond, not null
+     * @return a clock that returns the cached instant from the base clock, not null
+     * @throws IllegalArgumentException if the resolution is less than one millisecond
+     * @throws ArithmeticException if the resolution is too large to be represented as nanos
+     */
+    public static Clock cached(Clock baseClock, Duration resolution) {
+        Jdk8Methods.requireNonNull(baseClock, "baseClock");
+        Jdk8Methods.requireNonNull(resolution, "resolution");
+        long resolutionNanos = resolution.toNanos();
+        if (resolutionNanos < 1000000) {
+            throw new IllegalArgumentException("Resolution must be at least one millisecond");
+        }
+        return new CachedClock(baseClock, resolutionNanos);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Constructor accessible by subclasses.
@@ -548,6 +644,10 @@ public abstract class Clock {
         private static final long serialVersionUID = 6504659149906368850L;
         private final Clock baseClock;
         private final long tickNanos;
+        /**
+         * The instant of the last tick, shared by all calls within the tick.
+         */
+        private transient volatile Instant last;
 
         TickClock(Clock baseClock, long tickNanos) {
             this.baseClock = baseClock;
@@ -571,14 +671,25 @@ public abstract class Clock {
         }
         @Override
         public Instant instant() {
+            long epochSecond;
+            int nano;
             if ((tickNanos % 1000000) == 0) {
                 long millis = baseClock.millis();
-                return Instant.ofEpochMilli(millis - Jdk8Methods.floorMod(millis, tickNanos / 1000000L));
+                millis -= Jdk8Methods.floorMod(millis, tickNanos / 1000000L);
+                epochSecond = Jdk8Methods.floorDiv(millis, 1000L);
+                nano = Jdk8Methods.floorMod(millis, 1000) * 1000000;
+            } else {
+                Instant instant = baseClock.instant();
+                epochSecond = instant.getEpochSecond();
+                nano = instant.getNano() - (int) Jdk8Methods.floorMod(instant.getNano(), tickNanos);
             }
-            Instant instant = baseClock.instant();
-            long nanos = instant.getNano();
-            long adjust = Jdk8Methods.floorMod(nanos, tickNanos);
-            return instant.minusNanos(adjust);
+            Instant cached = last;
+            if (cached != null && cached.getEpochSecond() == epochSecond && cached.getNano() == nano) {
+                return cached;
+            }
+            cached = Instant.ofEpochSecond(epochSecond, nano);
+            last = cached;
+            return cached;
         }
         @Override
         public boolean equals(Object obj) {
@@ -598,4 +709,490 @@ public abstract class Clock {
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Implementation of a clock that returns an instant refreshed in the background.
+     */
+    static final class CachedClock extends Clock implements Serializable {
+        private static final long serialVersionUID = -2914370446497604542L;
+        private final Clock baseClock;
+        private final long resolutionNanos;
+        /**
+         * The shared refresh, holding the current instant.
+         */
+        final transient Ticker ticker;
+        /**
+         * The last date-time resolved in the zone of this clock.
+         */
+        private transient volatile ZonedDateTime resolved;
+
+        CachedClock(Clock baseClock, long resolutionNanos) {
+            this(baseClock, resolutionNanos, Ticker.start(baseClock, resolutionNanos));
+        }
+        private CachedClock(Clock baseClock, long resolutionNanos, Ticker ticker) {
+            this.baseClock = baseClock;
+            this.resolutionNanos = resolutionNanos;
+            this.ticker = ticker;
+        }
+        private Object readResolve() {
+            return new CachedClock(baseClock, resolutionNanos);
+        }
+        @Override
+        public ZoneId getZone() {
+            return baseClock.getZone();
+        }
+        @Override
+        public Clock withZone(ZoneId zone) {
+            if (zone.equals(baseClock.getZone())) {  // intentional NPE
+                return this;
+            }
+            return new CachedClock(baseClock.withZone(zone), resolutionNanos, ticker);
+        }
+        @Override
+        public long millis() {
+            return ticker.instant.toEpochMilli();
+        }
+        @Override
+        public Instant instant() {
+            return ticker.instant;
+        }
+        /**
+         * Gets the current date-time, shared until the next refresh.
+         *
+         * @return the current date-time in the zone of this clock, not null
+         */
+        ZonedDateTime zonedDateTime() {
+            Instant instant = ticker.instant;
+            ZonedDateTime zdt = resolved;
+            if (zdt == null || zdt.getNano() != instant.getNano() || zdt.toEpochSecond() != instant.getEpochSecond()) {
+                zdt = ZonedDateTime.ofInstant(instant, baseClock.getZone());
+                resolved = zdt;
+            }
+            return zdt;
+        }
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof CachedClock) {
+                CachedClock other = (CachedClock) obj;
+                return baseClock.equals(other.baseClock) && resolutionNanos == other.resolutionNanos;
+            }
+            return false;
+        }
+        @Override
+        public int hashCode() {
+            return baseClock.hashCode() ^ ((int) (resolutionNanos ^ (resolutionNanos >>> 32))) ^ 1;
+        }
+        @Override
+        public String toString() {
+            return "CachedClock[" + baseClock + "," + Duration.ofNanos(resolutionNanos) + "]";
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The background refresh of a cached clock.
+     * <p>
+     * Each ticker is scheduled on a single shared daemon thread, with one ticker
+     * per base clock and resolution. The scheduled task only weakly references
+     * the ticker, cancelling itself once the ticker has been garbage collected
+     * along with the clocks using it.
+     */
+    static final class Ticker {
+        /**
+         * The shared scheduler, created on first use.
+         */
+        private static ScheduledExecutorService scheduler;
+        /**
+         * The running tickers by base clock and resolution, guarded by the class lock.
+         */
+        private static final Map<Key, WeakReference<Ticker>> TICKERS = new HashMap<Key, WeakReference<Ticker>>();
+
+        private final Clock baseClock;
+        /**
+         * The current instant.
+         */
+        volatile Instant instant;
+
+        private Ticker(Clock baseClock) {
+            this.baseClock = baseClock;
+            this.instant = baseClock.instant();
+        }
+
+        /**
+         * Obtains the ticker for the base clock and resolution, starting one if necessary.
+         *
+         * @param baseClock  the base clock, not null
+         * @param resolutionNanos  the interval between refreshes
+         * @return the running ticker, not null
+         */
+        static synchronized Ticker start(Clock baseClock, long resolutionNanos) {
+            Key key = new Key(baseClock, resolutionNanos);
+            WeakReference<Ticker> ref = TICKERS.get(key);
+            Ticker ticker = (ref != null ? ref.get() : null);
+            if (ticker == null) {
+                ticker = new Ticker(baseClock);
+                Task task = new Task(key, ticker);
+                TICKERS.put(key, task.ticker);
+                task.future = scheduler().scheduleAtFixedRate(task, resolutionNanos, resolutionNanos, TimeUnit.NANOSECONDS);
+            }
+            return ticker;
+        }
+
+        /**
+         * Removes the ticker for the key, if it has not already been replaced.
+         *
+         * @param key  the key, not null
+         * @param ref  the reference to the collected ticker, not null
+         */
+        private static synchronized void stop(Key key, WeakReference<Ticker> ref) {
+            if (TICKERS.get(key) == ref) {
+                TICKERS.remove(key);
+            }
+        }
+
+        private static synchronized ScheduledExecutorService scheduler() {
+            if (scheduler == null) {
+                scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "threetenbp-clock-ticker");
+                        thread.setDaemon(true);
+                        // avoid pinning the class loader of whichever thread started the first clock
+                        thread.setContextClassLoader(null);
+                        return thread;
+                    }
+                });
+            }
+            return scheduler;
+        }
+
+        /**
+         * The scheduled task, refreshing the ticker until it is no longer referenced.
+         */
+        private static final class Task implements Runnable {
+            private final Key key;
+            final WeakReference<Ticker> ticker;
+            volatile ScheduledFuture<?> future;
+
+            Task(Key key, Ticker ticker) {
+                this.key = key;
+                this.ticker = new WeakReference<Ticker>(ticker);
+            }
+            @Override
+            public void run() {
+                Ticker target = ticker.get();
+                if (target == null) {
+                    ScheduledFuture<?> f = future;
+                    if (f != null) {
+                        f.cancel(false);
+                    }
+                    stop(key, ticker);
+                    return;
+                }
+                try {
+                    target.instant = target.baseClock.instant();
+                } catch (RuntimeException ex) {
+                    // keep the last instant, the base clock may recover
+                }
+            }
+        }
+
+        /**
+         * The key of a ticker, the base clock and resolution.
+         */
+        private static final class Key {
+            private final Clock baseClock;
+            private final long resolutionNanos;
+
+            Key(Clock baseClock, long resolutionNanos) {
+                this.baseClock = baseClock;
+                this.resolutionNanos = resolutionNanos;
+            }
+            @Override
+            public boolean equals(Object obj) {
+                if (obj instanceof Key) {
+                    Key other = (Key) obj;
+                    return baseClock.equals(other.baseClock) && resolutionNanos == other.resolutionNanos;
+                }
+                return false;
+            }
+            @Override
+            public int hashCode() {
+                return baseClock.hashCode() ^ ((int) (resolutionNanos ^ (resolutionNanos >>> 32)));
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Implementation of a clock that uses {@link System#nanoTime()} anchored to the wall clock.
+     */
+    static final class NanoClock extends Clock implements Serializable {
+        private static final long serialVersionUID = 3962143870125318652L;
+        private final ZoneId zone;
+        /**
+         * The source of the time, shared with clocks in other zones.
+         */
+        private final transient NanoSource source;
+
+        NanoClock(ZoneId zone, NanoSource source) {
+            this.zone = zone;
+            this.source = source;
+        }
+        private Object readResolve() {
+            return new NanoClock(zone, new NanoSource());
+        }
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+        @Override
+        public Clock withZone(ZoneId zone) {
+            if (zone.equals(this.zone)) {  // intentional NPE
+                return this;
+            }
+            return new NanoClock(zone, source);
+        }
+        @Override
+        public long millis() {
+            return Jdk8Methods.floorDiv(source.epochNanos(), 1000000L);
+        }
+        @Override
+        public Instant instant() {
+            long epochNanos = source.epochNanos();
+            return Instant.ofEpochSecond(
+                    Jdk8Methods.floorDiv(epochNanos, NANOS_PER_SECOND), Jdk8Methods.floorMod(epochNanos, NANOS_PER_SECOND));
+        }
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof NanoClock) {
+                return zone.equals(((NanoClock) obj).zone);
+            }
+            return false;
+        }
+        @Override
+        public int hashCode() {
+            return zone.hashCode() + 2;
+        }
+        @Override
+        public String toString() {
+            return "NanoClock[" + zone + "]";
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The source of the time for a nanosecond clock.
+     * <p>
+     * The epoch nanosecond count is stored in a {@code long}, which is valid until the year 2262.
+     */
+    static final class NanoSource {
+        /**
+         * The interval between checks of the anchor against the wall clock.
+         */
+        private static final long CHECK_NANOS = NANOS_PER_SECOND;
+        /**
+         * The largest drift corrected by slewing, larger corrections are stepped.
+         */
+        private static final long MAX_SLEW_NANOS = NANOS_PER_SECOND;
+        /**
+         * The slowdown while slewing, one nanosecond is removed for every this many elapsed.
+         */
+        private static final long SLEW_RATIO = 10;
+        /**
+         * The system time source.
+         */
+        private static final TimeSource SYSTEM = new TimeSource() {
+            @Override
+            public long nanoTime() {
+                return System.nanoTime();
+            }
+            @Override
+            public long currentTimeMillis() {
+                return System.currentTimeMillis();
+            }
+        };
+        /**
+         * The observed granularity of the system wall clock.
+         */
+        private static final long SYSTEM_GRANULARITY_NANOS = measureGranularity(SYSTEM);
+
+        /**
+         * The source of nano and wall time.
+         */
+        private final TimeSource time;
+        /**
+         * The granularity of the wall clock in nanoseconds.
+         */
+        private final long granularityNanos;
+        /**
+         * The current anchor.
+         */
+        private volatile Anchor anchor;
+        /**
+         * The last epoch nanos returned, ensuring the clock is monotonic.
+         */
+        private final AtomicLong last = new AtomicLong(Long.MIN_VALUE);
+
+        NanoSource() {
+            this(SYSTEM, SYSTEM_GRANULARITY_NANOS);
+        }
+
+        /**
+         * Creates an instance using the specified time source.
+         *
+         * @param time  the source of nano and wall time, not null
+         * @param granularityNanos  the granularity of the wall clock, at least one millisecond
+         */
+        NanoSource(TimeSource time, long granularityNanos) {
+            this.time = time;
+            this.granularityNanos = granularityNanos;
+            long nanoTime = time.nanoTime();
+            this.anchor = new Anchor(time.currentTimeMillis() * 1000000L, nanoTime, nanoTime, 0);
+        }
+
+        /**
+         * Measures the granularity of a wall clock by watching it tick.
+         * <p>
+         * The largest of two consecutive steps is used, as some platforms alternate
+         * between step sizes. If the clock does not tick in a reasonable time,
+         * a typical coarse granularity is assumed.
+         *
+         * @param time  the time source, not null
+         * @return the granularity in nanoseconds, at least one millisecond
+         */
+        static long measureGranularity(TimeSource time) {
+            long deadline = time.nanoTime() + 100000000L;
+            long previous = time.currentTimeMillis();
+            long maxStep = 0;
+            for (int steps = 0; steps < 3; ) {
+                long millis = time.currentTimeMillis();
+                if (millis != previous) {
+                    if (steps > 0) {
+                        // the first change ends a partial step
+                        maxStep = Math.max(maxStep, millis - previous);
+                    }
+                    previous = millis;
+                    steps++;
+                } else if (time.nanoTime() - deadline > 0) {
+                    return 16000000L;
+                }
+            }
+            return Math.max(maxStep, 1) * 1000000L;
+        }
+
+        /**
+         * Gets the granularity of the wall clock.
+         *
+         * @return the granularity in nanoseconds
+         */
+        long getGranularityNanos() {
+            return granularityNanos;
+        }
+
+        /**
+         * Gets the current epoch nanos.
+         *
+         * @return the nanoseconds from 1970-01-01T00:00Z
+         */
+        long epochNanos() {
+            long nanoTime = time.nanoTime();
+            Anchor current = anchor;
+            if (nanoTime - current.checkedNanoTime > CHECK_NANOS) {
+                current = recheck(current, nanoTime);
+            }
+            long epochNanos = current.epochNanos(nanoTime);
+            while (true) {
+                long previous = last.get();
+                if (epochNanos <= previous) {
+                    return previous;
+                }
+                if (last.compareAndSet(previous, epochNanos)) {
+                    return epochNanos;
+                }
+            }
+        }
+
+        /**
+         * Checks the anchor against the wall clock, correcting it if it has drifted.
+         * <p>
+         * The prediction is consistent if it lies within one granule of the wall clock.
+         * If the prediction is behind, the clock steps forward to the wall clock.
+         * If it is ahead by up to a second, the clock continues from the prediction
+         * and slews back towards the middle of the granule at a slightly slower rate,
+         * so the values returned keep increasing. Larger backward steps re-anchor
+         * to the wall clock, with the clock pausing until it catches up.
+         *
+         * @param current  the current anchor, not null
+         * @param nanoTime  the current nano time
+         * @return the anchor to use, not null
+         */
+        private Anchor recheck(Anchor current, long nanoTime) {
+            long wallNanos = time.currentTimeMillis() * 1000000L;
+            long predicted = current.epochNanos(nanoTime);
+            Anchor updated;
+            if (predicted < wallNanos) {
+                updated = new Anchor(wallNanos, nanoTime, nanoTime, 0);
+            } else if (predicted < wallNanos + granularityNanos) {
+                // consistent with the wall clock, keep the smooth timeline
+                updated = new Anchor(current.epochNanos, current.nanoTime, nanoTime, current.slewNanos);
+            } else {
+                long slewNanos = predicted - wallNanos - granularityNanos / 2;
+                if (slewNanos <= MAX_SLEW_NANOS) {
+                    updated = new Anchor(predicted, nanoTime, nanoTime, slewNanos);
+                } else {
+                    updated = new Anchor(wallNanos, nanoTime, nanoTime, 0);
+                }
+            }
+            anchor = updated;
+            return updated;
+        }
+
+        /**
+         * An immutable anchor relating nano time to the epoch.
+         */
+        private static final class Anchor {
+            final long epochNanos;
+            final long nanoTime;
+            final long checkedNanoTime;
+            /**
+             * The amount still to be removed by running slow, zero if none.
+             */
+            final long slewNanos;
+
+            Anchor(long epochNanos, long nanoTime, long checkedNanoTime, long slewNanos) {
+                this.epochNanos = epochNanos;
+                this.nanoTime = nanoTime;
+                this.checkedNanoTime = checkedNanoTime;
+                this.slewNanos = slewNanos;
+            }
+
+            long epochNanos(long nanoTime) {
+                long elapsed = nanoTime - this.nanoTime;
+                if (slewNanos == 0) {
+                    return epochNanos + elapsed;
+                }
+                return epochNanos + elapsed - Math.min(elapsed, slewNanos * SLEW_RATIO) / SLEW_RATIO;
+            }
+        }
+    }
+
+    /**
+     * A source of nano and wall time, allowing the system time to be replaced in tests.
+     */
+    interface TimeSource {
+        /**
+         * Gets the nano time, as per {@link System#nanoTime()}.
+         *
+         * @return the nano time
+         */
+        long nanoTime();
+        /**
+         * Gets the wall time, as per {@link System#currentTimeMillis()}.
+         *
+         * @return the milliseconds from 1970-01-01T00:00Z
+         */
+        long currentTimeMillis();
+    }
+
 }
@@ -135,6 +135,25 @@ public final class LocalDate
      * There are 7 leap years from 1970 to 2000.
      */
     static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+    /**
+     * The number of 400 year cycles to shift dates by so that the whole range
+     * of {@code EPOCH_DAY} maps to a positive march-based year.
+     */
+    private static final long SHIFT_CYCLES = 2600000L;
+    /**
+     * The number of years to shift dates by.
+     */
+    private static final long SHIFT_YEARS = 400 * SHIFT_CYCLES;
+    /**
+     * The number of days from the shifted march-based epoch to 1970-01-01.
+     */
+    private static final long SHIFT_DAYS = DAYS_0000_TO_1970 - 60 + DAYS_PER_CYCLE * SHIFT_CYCLES;
+    /**
+     * The number of days before each month in a standard year, indexed from zero for January.
+     */
+    private static final int[] DAYS_BEFORE_MONTH = new int[] {
+        0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334,
+    };
 
     /**
      * The year.
@@ -280,37 +299,170 @@ public final class LocalDate
      */
     public static LocalDate ofEpochDay(long epochDay) {
         EPOCH_DAY.checkValidValue(epochDay);
-        long zeroDay = epochDay + DAYS_0000_TO_1970;
-        // find the march-based year
-        zeroDay -= 60;  // adjust to 0000-03-01 so leap day is at end of four year cycle
-        long adjust = 0;
-        if (zeroDay < 0) {
-            // adjust negative years to positive for calculation
-            long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
-            adjust = adjustCycles * 400;
-            zeroDay += -adjustCycles * DAYS_PER_CYCLE;
-        }
-        long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
-        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
-        if (doyEst < 0) {
-            // fix estimate
-            yearEst--;
-            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
-        }
-        yearEst += adjust;  // reset any negative year
-        int marchDoy0 = (int) doyEst;
-
-        // convert march-based values back to january-based
-        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
-        int month = (marchMonth0 + 2) % 12 + 1;
-        int dom = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
-        yearEst += marchMonth0 / 10;
+        // Neri-Schneider, using a march-based year so the leap day is at the end
+        // the day count is shifted to be positive so all divisions truncate as floor
+        long day = epochDay + SHIFT_DAYS;
+        long n1 = 4 * day + 3;
+        long century = n1 / DAYS_PER_CYCLE;
+        long dayOfCentury4 = (n1 % DAYS_PER_CYCLE) | 3;  // 4 * dayOfCentury + 3
+        long p2 = 2939745L * dayOfCentury4;
+        long yearOfCentury = p2 >>> 32;
+        int marchDoy0 = (int) ((p2 & 0xFFFFFFFFL) / 11758980L);  // divide by 2939745 * 4
+        int n3 = 2141 * marchDoy0 + 197913;
+        int marchMonth = n3 >>> 16;
+        int dom = (n3 & 0xFFFF) / 2141 + 1;
+        boolean janFeb = marchDoy0 >= 306;
+        long yearEst = 100 * century + yearOfCentury - SHIFT_YEARS + (janFeb ? 1 : 0);
+        int month = (janFeb ? marchMonth - 12 : marchMonth);
 
         // check year now we are certain it is correct
         int year = YEAR.checkValidIntValue(yearEst);
         return new LocalDate(year, month, dom);
     }
 
+    /**
+     * Gets the year of an epoch-day, using the same Neri-Schneider decomposition
+     * as {@link #ofEpochDay(long)}.
+     *
+     * @param epochDay  the epoch-day, within the valid range
+     * @return the proleptic year, not validated
+     */
+    private static long yearOfEpochDay(long epochDay) {
+        long n1 = 4 * (epochDay + SHIFT_DAYS) + 3;
+        long century = n1 / DAYS_PER_CYCLE;
+        long p2 = 2939745L * ((n1 % DAYS_PER_CYCLE) | 3);
+        long yearOfCentury = p2 >>> 32;
+        boolean janFeb = (p2 & 0xFFFFFFFFL) >= 306 * 11758980L;  // march-based day-of-year >= 306
+        return 100 * century + yearOfCentury - SHIFT_YEARS + (janFeb ? 1 : 0);
+    }
+
+    /**
+     * Decodes an array of epoch-days to the year, month and day-of-month.
+     * <p>
+     * This is the bulk equivalent of {@link #ofEpochDay(long)}, intended for converting
+     * large arrays of dates without creating a {@code LocalDate} for each one.
+     * The year, month and day-of-month of each element of the input array are stored
+     * in the element at the same index in each output array.
+     * Arrays sorted in ascending order, or containing runs of nearby values, are
+     * processed fastest, as the year and month are reused between elements.
+     *
+     * @param epochDays  the epoch-days to decode, not null
+     * @param years  the array to store the years in, not null
+     * @param months  the array to store the months, from 1 to 12, in, not null
+     * @param days  the array to store the days-of-month, from 1 to 31, in, not null
+     * @throws IllegalArgumentException if an output array is shorter than the input array
+     * @throws DateTimeException if an epoch-day exceeds the supported date range
+     */
+    public static void decodeEpochDays(long[] epochDays, int[] years, int[] months, int[] days) {
+        Jdk8Methods.requireNonNull(epochDays, "epochDays");
+        checkOutputArrays(epochDays.length, years, months, days);
+        EpochDayCursor cursor = new EpochDayCursor();
+        for (int i = 0; i < epochDays.length; i++) {
+            long epochDay = epochDays[i];
+            cursor.moveTo(epochDay);
+            years[i] = cursor.year;
+            months[i] = cursor.month;
+            days[i] = (int) (epochDay - cursor.monthStart) + 1;
+        }
+    }
+
+    /**
+     * Decodes an array of epoch-days to the year, month and day-of-month.
+     * <p>
+     * This is the bulk equivalent of {@link #ofEpochDay(long)} for epoch-days stored as
+     * {@code int}, which covers all dates within around five million years of 1970.
+     * See {@link #decodeEpochDays(long[], int[], int[], int[])}.
+     *
+     * @param epochDays  the epoch-days to decode, not null
+     * @param years  the array to store the years in, not null
+     * @param months  the array to store the months, from 1 to 12, in, not null
+     * @param days  the array to store the days-of-month, from 1 to 31, in, not null
+     * @throws IllegalArgumentException if an output array is shorter than the input array
+     */
+    public static void decodeEpochDays(int[] epochDays, int[] years, int[] months, int[] days) {
+        Jdk8Methods.requireNonNull(epochDays, "epochDays");
+        checkOutputArrays(epochDays.length, years, months, days);
+        EpochDayCursor cursor = new EpochDayCursor();
+        for (int i = 0; i < epochDays.length; i++) {
+            long epochDay = epochDays[i];
+            cursor.moveTo(epochDay);
+            years[i] = cursor.year;
+            months[i] = cursor.month;
+            days[i] = (int) (epochDay - cursor.monthStart) + 1;
+        }
+    }
+
+    private static void checkOutputArrays(int length, int[] years, int[] months, int[] days) {
+        Jdk8Methods.requireNonNull(years, "years");
+        Jdk8Methods.requireNonNull(months, "months");
+        Jdk8Methods.requireNonNull(days, "days");
+        if (years.length < length || months.length < length || days.length < length) {
+            throw new IllegalArgumentException("Output arrays must be at least as long as the input");
+        }
+    }
+
+    /**
+     * Encodes arrays of year, month and day-of-month to epoch-days.
+     * <p>
+     * This is the bulk equivalent of {@link #of(int, int, int)} followed by
+     * {@link #toEpochDay()}, intended for converting large arrays of dates without
+     * creating a {@code LocalDate} for each one.
+     * The epoch-day of the elements at each index of the input arrays is stored
+     * in the element at the same index in the output array.
+     * Consecutive elements in the same year are processed fastest.
+     *
+     * @param years  the years to encode, from MIN_YEAR to MAX_YEAR, not null
+     * @param months  the months to encode, from 1 to 12, at least as long as the years, not null
+     * @param days  the days-of-month to encode, from 1 to 31, at least as long as the years, not null
+     * @param epochDays  the array to store the epoch-days in, not null
+     * @throws IllegalArgumentException if an array is shorter than the array of years
+     * @throws DateTimeException if the value of any field is out of range,
+     *  or if the day-of-month is invalid for the month-year
+     */
+    public static void encodeEpochDays(int[] years, int[] months, int[] days, long[] epochDays) {
+        Jdk8Methods.requireNonNull(years, "years");
+        Jdk8Methods.requireNonNull(months, "months");
+        Jdk8Methods.requireNonNull(days, "days");
+        Jdk8Methods.requireNonNull(epochDays, "epochDays");
+        int length = years.length;
+        if (months.length < length || days.length < length || epochDays.length < length) {
+            throw new IllegalArgumentException("Arrays must be at least as long as the array of years");
+        }
+        boolean cached = false;
+        int cachedYear = 0;
+        boolean leap = false;
+        long yearStart = 0;
+        for (int i = 0; i < length; i++) {
+            int year = years[i];
+            int month = months[i];
+            int day = days[i];
+            if (cached == false || year != cachedYear) {
+                YEAR.checkValidValue(year);
+                cached = true;
+                cachedYear = year;
+                leap = IsoChronology.INSTANCE.isLeapYear(year);
+                yearStart = toEpochDay(year, 1, 1);
+            }
+            if (month < 1 || month > 12) {
+                MONTH_OF_YEAR.checkValidValue(month);
+            }
+            if (day < 1 || day > 31) {
+                DAY_OF_MONTH.checkValidValue(day);
+            }
+            if (day > 28) {
+                Month moy = Month.of(month);
+                if (day > moy.length(leap)) {
+                    if (day == 29) {
+                        throw new DateTimeException("Invalid date 'February 29' as '" + year + "' is not a leap year");
+                    } else {
+                        throw new DateTimeException("Invalid date '" + moy.name() + " " + day + "'");
+                    }
+                }
+            }
+            epochDays[i] = yearStart + DAYS_BEFORE_MONTH[month - 1] + (leap && month > 2 ? 1 : 0) + day - 1;
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Obtains an instance of {@code LocalDate} from a temporal object.
@@ -1632,24 +1784,28 @@ public final class LocalDate
     //-----------------------------------------------------------------------
     @Override
     public long toEpochDay() {
-        long y = year;
-        long m = month;
-        long total = 0;
-        total += 365 * y;
-        if (y >= 0) {
-            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
-        } else {
-            total -= y / -4 - y / -100 + y / -400;
-        }
-        total += ((367 * m - 362) / 12);
-        total += day - 1;
-        if (m > 2) {
-            total--;
-            if (isLeapYear() == false) {
-                total--;
-            }
-        }
-        return total - DAYS_0000_TO_1970;
+        return toEpochDay(year, month, day);
+    }
+
+    /**
+     * Calculates the epoch-day of a valid date.
+     * <p>
+     * This uses the Neri-Schneider algorithm with a march-based year,
+     * shifted so that all divisions are of positive values.
+     *
+     * @param year  the year
+     * @param month  the month-of-year, from 1 to 12
+     * @param day  the day-of-month, valid for the year and month
+     * @return the epoch-day
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        boolean janFeb = month <= 2;
+        long y = year + SHIFT_YEARS - (janFeb ? 1 : 0);
+        int m = (janFeb ? month + 12 : month);
+        long century = y / 100;
+        long yearDays = 1461 * y / 4 - century + century / 4;
+        int monthDays = (979 * m - 2919) >> 5;
+        return yearDays + monthDays + day - 1 - SHIFT_DAYS;
     }
 
     //-----------------------------------------------------------------------
@@ -1886,4 +2042,60 @@ public final class LocalDate
         return LocalDate.of(year, month, dayOfMonth);
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Tracks the year and month containing an epoch-day during bulk decoding.
+     * <p>
+     * The year is found using the civil calendar algorithm based on 400 year cycles,
+     * which only needs division by constants. The year and month are then reused
+     * for subsequent epoch-days that fall within them.
+     */
+    private static final class EpochDayCursor {
+        /** The epoch-day of the start of the current year. */
+        private long yearStart;
+        /** The epoch-day of the start of the following year. */
+        private long yearEnd;
+        /** Whether the current year is a leap year. */
+        private boolean leap;
+        /** The epoch-day of the start of the current month. */
+        long monthStart;
+        /** The epoch-day of the start of the following month. */
+        private long monthEnd;
+        /** The current year. */
+        int year;
+        /** The current month. */
+        int month;
+
+        /**
+         * Moves the cursor to the specified epoch-day.
+         *
+         * @param epochDay  the epoch-day
+         * @throws DateTimeException if the epoch-day exceeds the supported date range
+         */
+        void moveTo(long epochDay) {
+            if (epochDay >= monthStart && epochDay < monthEnd) {
+                return;
+            }
+            if (epochDay < yearStart || epochDay >= yearEnd) {
+                EPOCH_DAY.checkValidValue(epochDay);
+                year = YEAR.checkValidIntValue(yearOfEpochDay(epochDay));
+                leap = IsoChronology.INSTANCE.isLeapYear(year);
+                yearStart = toEpochDay(year, 1, 1);
+                yearEnd = yearStart + (leap ? 366 : 365);
+            }
+            int doy0 = (int) (epochDay - yearStart);
+            int m = (doy0 >> 5) + 1;  // never more than one month too low
+            if (m < 12 && doy0 >= daysBefore(m + 1)) {
+                m++;
+            }
+            month = m;
+            monthStart = yearStart + daysBefore(m);
+            monthEnd = monthStart + Month.of(m).length(leap);
+        }
+
+        private int daysBefore(int month) {
+            return DAYS_BEFORE_MONTH[month - 1] + (leap && month > 2 ? 1 : 0);
+        }
+    }
+
 }
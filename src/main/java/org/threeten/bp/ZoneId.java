@@ -357,6 +357,30 @@ public abstract class ZoneId implements Serializable {
         return ZoneRegion.ofId(zoneId, true);
     }
 
+    /**
+     * Gets the number of region-based zone ID lookups found in the cache.
+     * <p>
+     * Region-based IDs obtained via {@link #of(String)} are cached, so that repeated
+     * lookups of the same ID return the same instance. The cache is discarded when
+     * {@link ZoneRulesProvider#refresh()} changes the rules.
+     *
+     * @return the number of cache hits since the class was loaded
+     */
+    public static long getRegionCacheHitCount() {
+        return ZoneRegion.getCacheHitCount();
+    }
+
+    /**
+     * Gets the number of region-based zone ID lookups not found in the cache.
+     * <p>
+     * See {@link #getRegionCacheHitCount()}.
+     *
+     * @return the number of cache misses since the class was loaded
+     */
+    public static long getRegionCacheMissCount() {
+        return ZoneRegion.getCacheMissCount();
+    }
+
     /**
      * Obtains an instance of {@code ZoneId} wrapping an offset.
      * <p>
@@ -37,9 +37,13 @@ import java.io.IOException;
 import java.io.InvalidObjectException;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.jdk8.StripedCounter;
+import org.threeten.bp.jdk8.ZoneRulesRefreshCount;
 import org.threeten.bp.zone.ZoneRules;
 import org.threeten.bp.zone.ZoneRulesException;
 import org.threeten.bp.zone.ZoneRulesProvider;
@@ -72,6 +76,22 @@ final class ZoneRegion extends ZoneId implements Serializable {
      * The regex pattern for region IDs.
      */
     private static final Pattern PATTERN = Pattern.compile("[A-Za-z][A-Za-z0-9~/._+-]+");
+    /**
+     * The maximum number of regions to cache.
+     */
+    private static final int CACHE_MAX_SIZE = 2048;
+    /**
+     * Cache of regions with rules, replaced when the rules are refreshed.
+     */
+    private static volatile RegionCache cache = new RegionCache(ZoneRulesRefreshCount.get());
+    /**
+     * The number of lookups that found a valid region in the cache.
+     */
+    private static final StripedCounter CACHE_HITS = new StripedCounter();
+    /**
+     * The number of lookups that did not find a valid region in the cache.
+     */
+    private static final StripedCounter CACHE_MISSES = new StripedCounter();
 
     /**
      * The time-zone ID, not null.
@@ -134,6 +154,18 @@ final class ZoneRegion extends ZoneId implements Serializable {
      */
     static ZoneRegion ofId(String zoneId, boolean checkAvailable) {
         Jdk8Methods.requireNonNull(zoneId, "zoneId");
+        RegionCache current = cache;
+        if (current.refreshCount != ZoneRulesRefreshCount.get()) {
+            // the rules have been refreshed, discard the regions holding old rules
+            current = new RegionCache(ZoneRulesRefreshCount.get());
+            cache = current;
+        }
+        ZoneRegion cached = current.regions.get(zoneId);
+        if (cached != null) {
+            CACHE_HITS.increment();
+            return cached;
+        }
+        CACHE_MISSES.increment();
         if (zoneId.length() < 2 || PATTERN.matcher(zoneId).matches() == false) {
             throw new DateTimeException("Invalid ID for region-based ZoneId, invalid format: " + zoneId);
         }
@@ -148,8 +180,44 @@ final class ZoneRegion extends ZoneId implements Serializable {
             } else if (checkAvailable) {
                 throw ex;
             }
+            return new ZoneRegion(zoneId, rules);
+        }
+        ZoneRegion region = new ZoneRegion(zoneId, rules);
+        if (current.regions.size() < CACHE_MAX_SIZE) {
+            // a region loaded during a refresh is added to the old cache, which is then discarded
+            current.regions.put(zoneId, region);
+        }
+        return region;
+    }
+
+    /**
+     * Gets the number of region lookups that were found in the cache.
+     *
+     * @return the number of cache hits
+     */
+    static long getCacheHitCount() {
+        return CACHE_HITS.sum();
+    }
+
+    /**
+     * Gets the number of region lookups that were not found in the cache.
+     *
+     * @return the number of cache misses
+     */
+    static long getCacheMissCount() {
+        return CACHE_MISSES.sum();
+    }
+
+    /**
+     * The cached regions for one refresh of the rules.
+     */
+    private static final class RegionCache {
+        private final long refreshCount;
+        private final ConcurrentMap<String, ZoneRegion> regions = new ConcurrentHashMap<String, ZoneRegion>(1024, 0.75f, 4);
+
+        RegionCache(long refreshCount) {
+            this.refreshCount = refreshCount;
         }
-        return new ZoneRegion(zoneId, rules);
     }
 
     //-------------------------------------------------------------------------
@@ -199,6 +199,9 @@ public final class ZonedDateTime
      */
     public static ZonedDateTime now(Clock clock) {
         Jdk8Methods.requireNonNull(clock, "clock");
+        if (clock instanceof Clock.CachedClock) {
+            return ((Clock.CachedClock) clock).zonedDateTime();
+        }
         final Instant now = clock.instant();  // called once
         return ofInstant(now, clock.getZone());
     }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * A view of ASCII bytes as a {@code CharSequence}.
+ * <p>
+ * This allows bytes read from a network buffer or file to be parsed directly,
+ * without first being decoded into a {@code String}. Each byte is a character.
+ * The bytes are not copied, thus must not be changed while the view is in use.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is immutable and thread-safe if the underlying bytes are not changed.
+ */
+final class AsciiCharSequence implements CharSequence {
+
+    /**
+     * The UTF-8 character set.
+     */
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * The array, null if using a buffer.
+     */
+    private final byte[] array;
+    /**
+     * The buffer, null if using an array.
+     */
+    private final ByteBuffer buffer;
+    /**
+     * The index of the first byte in the array or buffer.
+     */
+    private final int offset;
+    /**
+     * The number of bytes.
+     */
+    private final int length;
+
+    /**
+     * Obtains a sequence for the range of the array, decoding if it is not ASCII.
+     *
+     * @param array  the array, not null
+     * @param offset  the offset of the first byte
+     * @param length  the number of bytes
+     * @return the character sequence, not null
+     * @throws IndexOutOfBoundsException if the range is invalid
+     */
+    static CharSequence of(byte[] array, int offset, int length) {
+        if (offset < 0 || length < 0 || length > array.length - offset) {
+            throw new IndexOutOfBoundsException("Invalid range: offset " + offset + ", length " + length);
+        }
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (array[i] < 0) {
+                return new String(array, offset, length, UTF8);
+            }
+        }
+        return new AsciiCharSequence(array, null, offset, length);
+    }
+
+    /**
+     * Obtains a sequence for the remaining bytes in the buffer, decoding if it is not ASCII.
+     * <p>
+     * The position of the buffer is not changed.
+     *
+     * @param buffer  the buffer, not null
+     * @return the character sequence, not null
+     */
+    static CharSequence of(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            return of(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        int start = buffer.position();
+        int end = buffer.limit();
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) < 0) {
+                return UTF8.decode(buffer.duplicate()).toString();
+            }
+        }
+        return new AsciiCharSequence(null, buffer.duplicate(), start, end - start);
+    }
+
+    //-----------------------------------------------------------------------
+    private AsciiCharSequence(byte[] array, ByteBuffer buffer, int offset, int length) {
+        this.array = array;
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        return (char) (array != null ? array[offset + index] : buffer.get(offset + index));
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Invalid range: " + start + " to " + end);
+        }
+        return new AsciiCharSequence(array, buffer, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = charAt(i);
+        }
+        return new String(chars);
+    }
+
+}
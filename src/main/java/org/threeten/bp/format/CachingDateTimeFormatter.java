@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.threeten.bp.Duration;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CharLiteralPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.ChronoPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CompositePrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.DateTimePrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.DefaultingParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.FractionPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.LocalizedOffsetPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.NumberPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.OffsetIdPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.PadPrinterParserDecorator;
+import org.threeten.bp.format.DateTimeFormatterBuilder.SettingsParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.StringLiteralPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.TextPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.WeekFieldsPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.ZoneIdPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.ZoneTextPrinterParser;
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.TemporalAccessor;
+import org.threeten.bp.temporal.TemporalField;
+
+/**
+ * Formatter that caches the text of the last second formatted on each thread.
+ * <p>
+ * Applications such as loggers format the current time at a high rate, where
+ * consecutive values share the same text except for the fraction of the second.
+ * This class wraps a {@link DateTimeFormatter}, caching the text printed for the
+ * last second on each thread, and only rewriting the sub-second digits when the
+ * second is unchanged.
+ * <p>
+ * The formatter must be one where the sub-second fields are fixed width, such as
+ * that created by the pattern {@code yyyy-MM-dd HH:mm:ss.SSS}. The sub-second fields are
+ * the nano-of-second as a fixed width fraction, or the milli, micro or nano-of-second
+ * as a fixed width number. All other elements must not vary within a second.
+ * <p>
+ * The cache is used when formatting {@code Instant}, {@code LocalDateTime},
+ * {@code OffsetDateTime} and {@code ZonedDateTime}. Other types are formatted
+ * directly using the underlying formatter.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is immutable and thread-safe.
+ */
+public final class CachingDateTimeFormatter {
+
+    /**
+     * One second.
+     */
+    private static final Duration ONE_SECOND = Duration.ofSeconds(1);
+
+    /**
+     * The underlying formatter.
+     */
+    private final DateTimeFormatter formatter;
+    /**
+     * The top-level printer-parsers.
+     */
+    private final DateTimePrinterParser[] elements;
+    /**
+     * The indices of the elements printing sub-second fields.
+     */
+    private final int[] slotElements;
+    /**
+     * The width of each sub-second field.
+     */
+    private final int[] slotWidths;
+    /**
+     * The divisor to obtain each sub-second field from the nano-of-second.
+     */
+    private final int[] slotDivisors;
+    /**
+     * The zero digit.
+     */
+    private final char zeroDigit;
+    /**
+     * The cached text for each thread.
+     */
+    private final ThreadLocal<State> state = new ThreadLocal<State>() {
+        @Override
+        protected State initialValue() {
+            return new State(slotElements.length);
+        }
+    };
+
+    /**
+     * Obtains a caching formatter wrapping the specified formatter.
+     *
+     * @param formatter  the formatter to wrap, not null
+     * @return the caching formatter, not null
+     * @throws IllegalArgumentException if the formatter has variable width sub-second fields,
+     *  or elements that may vary within a second
+     */
+    public static CachingDateTimeFormatter of(DateTimeFormatter formatter) {
+        Jdk8Methods.requireNonNull(formatter, "formatter");
+        List<DateTimePrinterParser> elements = new ArrayList<DateTimePrinterParser>();
+        flatten(formatter.toPrinterParser(false), elements);
+        List<Integer> slots = new ArrayList<Integer>();
+        int[] widths = new int[elements.size()];
+        int[] divisors = new int[elements.size()];
+        for (int i = 0; i < elements.size(); i++) {
+            DateTimePrinterParser pp = elements.get(i);
+            if (pp instanceof FractionPrinterParser) {
+                FractionPrinterParser fraction = (FractionPrinterParser) pp;
+                if (fraction.field == ChronoField.NANO_OF_SECOND && fraction.minWidth == fraction.maxWidth) {
+                    widths[slots.size()] = fraction.minWidth;
+                    divisors[slots.size()] = pow10(9 - fraction.minWidth);
+                    slots.add(i);
+                    continue;
+                }
+            } else if (pp.getClass() == NumberPrinterParser.class) {
+                NumberPrinterParser number = (NumberPrinterParser) pp;
+                int digits = subSecondDigits(number.field);
+                if (digits > 0 && number.minWidth == number.maxWidth && number.minWidth >= digits) {
+                    widths[slots.size()] = number.minWidth;
+                    divisors[slots.size()] = pow10(9 - digits);
+                    slots.add(i);
+                    continue;
+                }
+            }
+            if (isStable(pp) == false) {
+                throw new IllegalArgumentException("Formatter cannot be cached as it has elements that vary within a second: " + formatter);
+            }
+        }
+        int[] slotElements = new int[slots.size()];
+        for (int i = 0; i < slotElements.length; i++) {
+            slotElements[i] = slots.get(i);
+        }
+        return new CachingDateTimeFormatter(formatter, elements.toArray(new DateTimePrinterParser[elements.size()]),
+                slotElements, widths, divisors);
+    }
+
+    /**
+     * Flattens the non-optional composites.
+     *
+     * @param pp  the printer-parser, not null
+     * @param elements  the list to add to, not null
+     */
+    private static void flatten(DateTimePrinterParser pp, List<DateTimePrinterParser> elements) {
+        if (pp instanceof CompositePrinterParser && ((CompositePrinterParser) pp).optional == false) {
+            for (DateTimePrinterParser child : ((CompositePrinterParser) pp).printerParsers) {
+                flatten(child, elements);
+            }
+        } else {
+            elements.add(pp);
+        }
+    }
+
+    /**
+     * Checks if the printer-parser prints the same text for all instants within a second.
+     *
+     * @param pp  the printer-parser, not null
+     * @return true if stable within a second
+     */
+    private static boolean isStable(DateTimePrinterParser pp) {
+        if (pp instanceof CompositePrinterParser) {
+            for (DateTimePrinterParser child : ((CompositePrinterParser) pp).printerParsers) {
+                if (isStable(child) == false) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (pp instanceof PadPrinterParserDecorator) {
+            return isStable(((PadPrinterParserDecorator) pp).printerParser);
+        }
+        if (pp instanceof NumberPrinterParser) {
+            return isSecondOrLonger(((NumberPrinterParser) pp).field);
+        }
+        if (pp instanceof TextPrinterParser) {
+            return isSecondOrLonger(((TextPrinterParser) pp).field);
+        }
+        return pp instanceof CharLiteralPrinterParser ||
+                pp instanceof StringLiteralPrinterParser ||
+                pp instanceof SettingsParser ||
+                pp instanceof DefaultingParser ||
+                pp instanceof OffsetIdPrinterParser ||
+                pp instanceof LocalizedOffsetPrinterParser ||
+                pp instanceof ZoneTextPrinterParser ||
+                pp instanceof ZoneIdPrinterParser ||
+                pp instanceof ChronoPrinterParser ||
+                pp instanceof WeekFieldsPrinterParser;
+    }
+
+    private static boolean isSecondOrLonger(TemporalField field) {
+        return field.getBaseUnit().getDuration().compareTo(ONE_SECOND) >= 0;
+    }
+
+    private static int subSecondDigits(TemporalField field) {
+        if (field == ChronoField.MILLI_OF_SECOND) {
+            return 3;
+        }
+        if (field == ChronoField.MICRO_OF_SECOND) {
+            return 6;
+        }
+        if (field == ChronoField.NANO_OF_SECOND) {
+            return 9;
+        }
+        return 0;
+    }
+
+    private static int pow10(int power) {
+        int result = 1;
+        for (int i = 0; i < power; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    //-----------------------------------------------------------------------
+    private CachingDateTimeFormatter(DateTimeFormatter formatter, DateTimePrinterParser[] elements,
+                    int[] slotElements, int[] slotWidths, int[] slotDivisors) {
+        this.formatter = formatter;
+        this.elements = elements;
+        this.slotElements = slotElements;
+        this.slotWidths = slotWidths;
+        this.slotDivisors = slotDivisors;
+        this.zeroDigit = formatter.getDecimalStyle().getZeroDigit();
+    }
+
+    /**
+     * Gets the underlying formatter.
+     *
+     * @return the formatter, not null
+     */
+    public DateTimeFormatter getFormatter() {
+        return formatter;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Formats a date-time object using the cached text for the second if possible.
+     * <p>
+     * The result is the same as {@link DateTimeFormatter#format(TemporalAccessor)}.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @return the printed string, not null
+     * @throws DateTimeException if an error occurs during formatting
+     */
+    public String format(TemporalAccessor temporal) {
+        State st = update(temporal);
+        if (st == null) {
+            return formatter.format(temporal);
+        }
+        return new String(st.text, 0, st.length);
+    }
+
+    /**
+     * Formats a date-time object to a {@code StringBuilder} using the cached text for the second if possible.
+     * <p>
+     * The result is the same as {@link DateTimeFormatter#formatTo(TemporalAccessor, Appendable)}.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param buf  the buffer to print to, not null
+     * @throws DateTimeException if an error occurs during formatting
+     */
+    public void formatTo(TemporalAccessor temporal, StringBuilder buf) {
+        Jdk8Methods.requireNonNull(buf, "buf");
+        State st = update(temporal);
+        if (st == null) {
+            formatter.formatTo(temporal, buf);
+        } else {
+            buf.append(st.text, 0, st.length);
+        }
+    }
+
+    /**
+     * Updates the cached text for the current thread to represent the temporal.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @return the state holding the text, null if the temporal type is not cached
+     */
+    private State update(TemporalAccessor temporal) {
+        Jdk8Methods.requireNonNull(temporal, "temporal");
+        long second;
+        int nano;
+        Object zone;
+        if (temporal instanceof Instant) {
+            Instant instant = (Instant) temporal;
+            second = instant.getEpochSecond();
+            nano = instant.getNano();
+            zone = null;
+        } else if (temporal instanceof LocalDateTime) {
+            LocalDateTime ldt = (LocalDateTime) temporal;
+            second = ldt.toEpochSecond(ZoneOffset.UTC);
+            nano = ldt.getNano();
+            zone = null;
+        } else if (temporal instanceof OffsetDateTime) {
+            OffsetDateTime odt = (OffsetDateTime) temporal;
+            second = odt.toEpochSecond();
+            nano = odt.getNano();
+            zone = odt.getOffset();
+        } else if (temporal instanceof ZonedDateTime) {
+            ZonedDateTime zdt = (ZonedDateTime) temporal;
+            second = zdt.toEpochSecond();
+            nano = zdt.getNano();
+            zone = zdt.getZone();
+        } else {
+            return null;
+        }
+        State st = state.get();
+        if (st.text == null || st.type != temporal.getClass() || st.second != second || Jdk8Methods.equals(st.zone, zone) == false) {
+            render(st, truncate(temporal));
+            st.type = temporal.getClass();
+            st.second = second;
+            st.zone = zone;
+        }
+        char[] text = st.text;
+        for (int i = 0; i < slotElements.length; i++) {
+            int value = nano / slotDivisors[i];
+            int pos = st.slotEnds[i];
+            for (int j = 0; j < slotWidths[i]; j++) {
+                text[--pos] = (char) (zeroDigit + value % 10);
+                value /= 10;
+            }
+        }
+        return st;
+    }
+
+    private static TemporalAccessor truncate(TemporalAccessor temporal) {
+        if (temporal instanceof Instant) {
+            return Instant.ofEpochSecond(((Instant) temporal).getEpochSecond());
+        } else if (temporal instanceof LocalDateTime) {
+            return ((LocalDateTime) temporal).withNano(0);
+        } else if (temporal instanceof OffsetDateTime) {
+            return ((OffsetDateTime) temporal).withNano(0);
+        } else {
+            return ((ZonedDateTime) temporal).withNano(0);
+        }
+    }
+
+    /**
+     * Prints the text for the second, recording the end of each sub-second field.
+     * <p>
+     * The state is left unchanged if printing throws an exception.
+     *
+     * @param st  the state to update, not null
+     * @param truncated  the temporal truncated to the second, not null
+     */
+    private void render(State st, TemporalAccessor truncated) {
+        DateTimePrintContext context = new DateTimePrintContext(truncated, formatter);
+        StringBuilder buf = new StringBuilder(32);
+        int[] slotEnds = new int[slotElements.length];
+        int slot = 0;
+        for (int i = 0; i < elements.length; i++) {
+            elements[i].print(context, buf);
+            if (slot < slotElements.length && slotElements[slot] == i) {
+                slotEnds[slot++] = buf.length();
+            }
+        }
+        // only update the state once printing has succeeded
+        System.arraycopy(slotEnds, 0, st.slotEnds, 0, slotEnds.length);
+        int length = buf.length();
+        if (st.text == null || st.text.length < length) {
+            st.text = new char[Math.max(length, 32)];
+        }
+        buf.getChars(0, length, st.text, 0);
+        st.length = length;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Returns a description of the underlying formatter.
+     *
+     * @return the description, not null
+     */
+    @Override
+    public String toString() {
+        return "Caching(" + formatter + ")";
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The cached text for one thread.
+     */
+    private static final class State {
+        private Class<?> type;
+        private long second;
+        private Object zone;
+        private char[] text;
+        private int length;
+        private final int[] slotEnds;
+
+        State(int slots) {
+            this.slotEnds = new int[slots];
+        }
+    }
+
+}
@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.LocalTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.chrono.Chronology;
+import org.threeten.bp.chrono.IsoChronology;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CharLiteralPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.CompositePrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.DateTimePrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.FractionPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.NumberPrinterParser;
+import org.threeten.bp.format.DateTimeFormatterBuilder.StringLiteralPrinterParser;
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.TemporalAccessor;
+import org.threeten.bp.temporal.TemporalField;
+
+/**
+ * Printer compiled from a formatter consisting only of numeric fields and literals.
+ * <p>
+ * The printer-parsers of the formatter are flattened into a single list of operations
+ * at compile time. When printing one of the common ISO types, the date and time are
+ * extracted once, and each field is obtained directly from them, avoiding
+ * {@link DateTimePrintContext} and the per-field {@code getLong} calls.
+ * <p>
+ * If the temporal is not a known type, or a value is one that needs special handling,
+ * such as a negative year, then printing returns false and the caller must use the
+ * general printer-parsers, which produce the same output or the appropriate exception.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is immutable and thread-safe.
+ */
+final class CompiledPrinter {
+
+    /** Operation to append a literal. */
+    private static final int LITERAL = 0;
+    /** Operation to append a fixed width fraction of the nano-of-second. */
+    private static final int FRACTION = 1;
+    /** Operations to append a numeric field. */
+    private static final int YEAR = 2;
+    private static final int YEAR_OF_ERA = 3;
+    private static final int MONTH_OF_YEAR = 4;
+    private static final int DAY_OF_MONTH = 5;
+    private static final int DAY_OF_YEAR = 6;
+    private static final int HOUR_OF_DAY = 7;
+    private static final int CLOCK_HOUR_OF_DAY = 8;
+    private static final int HOUR_OF_AMPM = 9;
+    private static final int CLOCK_HOUR_OF_AMPM = 10;
+    private static final int MINUTE_OF_HOUR = 11;
+    private static final int SECOND_OF_MINUTE = 12;
+    private static final int MILLI_OF_SECOND = 13;
+    private static final int NANO_OF_SECOND = 14;
+    /** The first operation that requires the time. */
+    private static final int FIRST_TIME_OP = HOUR_OF_DAY;
+
+    /**
+     * The operation codes.
+     */
+    private final int[] ops;
+    /**
+     * The literal to append, for literal operations.
+     */
+    private final String[] literals;
+    /**
+     * The minimum width, for numeric and fraction operations.
+     */
+    private final int[] minWidths;
+    /**
+     * The maximum width for numeric operations, the divisor of the nano-of-second for fraction operations.
+     */
+    private final int[] maxWidths;
+    /**
+     * Whether to fall back when the value exceeds the minimum width, for numeric operations.
+     */
+    private final boolean[] exceedsPad;
+    /**
+     * The zero digit.
+     */
+    private final char zeroDigit;
+    /**
+     * The zone to convert instants to, null if none.
+     */
+    private final ZoneId zone;
+    /**
+     * Whether a date is needed.
+     */
+    private final boolean needsDate;
+    /**
+     * Whether a time is needed.
+     */
+    private final boolean needsTime;
+
+    /**
+     * Compiles the formatter if possible.
+     *
+     * @param printerParser  the printer-parser to compile, not null
+     * @param decimalStyle  the decimal style, not null
+     * @param chrono  the override chronology, null if none
+     * @param zone  the override zone, null if none
+     * @return the compiled printer, null if the formatter contains other elements
+     */
+    static CompiledPrinter compile(CompositePrinterParser printerParser, DecimalStyle decimalStyle, Chronology chrono, ZoneId zone) {
+        if (chrono != null && chrono != IsoChronology.INSTANCE) {
+            return null;
+        }
+        List<Object> elements = new ArrayList<Object>();
+        if (flatten(printerParser, elements) == false) {
+            return null;
+        }
+        int size = elements.size();
+        int[] ops = new int[size];
+        String[] literals = new String[size];
+        int[] minWidths = new int[size];
+        int[] maxWidths = new int[size];
+        boolean[] exceedsPad = new boolean[size];
+        boolean needsDate = false;
+        boolean needsTime = false;
+        for (int i = 0; i < size; i++) {
+            Object element = elements.get(i);
+            if (element instanceof String) {
+                ops[i] = LITERAL;
+                literals[i] = (String) element;
+            } else if (element instanceof FractionPrinterParser) {
+                FractionPrinterParser pp = (FractionPrinterParser) element;
+                ops[i] = FRACTION;
+                literals[i] = (pp.decimalPoint ? String.valueOf(decimalStyle.getDecimalSeparator()) : "");
+                minWidths[i] = pp.minWidth;
+                maxWidths[i] = 1;
+                for (int j = pp.minWidth; j < 9; j++) {
+                    maxWidths[i] *= 10;
+                }
+                needsTime = true;
+            } else {
+                NumberPrinterParser pp = (NumberPrinterParser) element;
+                ops[i] = fieldOp(pp.field);
+                minWidths[i] = pp.minWidth;
+                maxWidths[i] = pp.maxWidth;
+                exceedsPad[i] = (pp.signStyle == SignStyle.EXCEEDS_PAD);
+                if (ops[i] >= FIRST_TIME_OP) {
+                    needsTime = true;
+                } else {
+                    needsDate = true;
+                }
+            }
+        }
+        return new CompiledPrinter(ops, literals, minWidths, maxWidths, exceedsPad,
+                decimalStyle.getZeroDigit(), zone, needsDate, needsTime);
+    }
+
+    /**
+     * Flattens the printer-parsers, merging adjacent literals.
+     *
+     * @param pp  the printer-parser to flatten, not null
+     * @param elements  the list to add to, not null
+     * @return true if the printer-parser can be compiled
+     */
+    private static boolean flatten(DateTimePrinterParser pp, List<Object> elements) {
+        if (pp instanceof CompositePrinterParser) {
+            CompositePrinterParser composite = (CompositePrinterParser) pp;
+            if (composite.optional) {
+                return false;
+            }
+            for (DateTimePrinterParser child : composite.printerParsers) {
+                if (flatten(child, elements) == false) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        String literal = null;
+        if (pp instanceof CharLiteralPrinterParser) {
+            literal = String.valueOf(((CharLiteralPrinterParser) pp).literal);
+        } else if (pp instanceof StringLiteralPrinterParser) {
+            literal = ((StringLiteralPrinterParser) pp).literal;
+        }
+        if (literal != null) {
+            int last = elements.size() - 1;
+            if (last >= 0 && elements.get(last) instanceof String) {
+                elements.set(last, elements.get(last) + literal);
+            } else {
+                elements.add(literal);
+            }
+            return true;
+        }
+        if (pp.getClass() == NumberPrinterParser.class) {
+            NumberPrinterParser number = (NumberPrinterParser) pp;
+            if (number.signStyle == SignStyle.ALWAYS || fieldOp(number.field) < 0) {
+                return false;
+            }
+            elements.add(number);
+            return true;
+        }
+        if (pp instanceof FractionPrinterParser) {
+            FractionPrinterParser fraction = (FractionPrinterParser) pp;
+            if (fraction.field != ChronoField.NANO_OF_SECOND ||
+                    fraction.minWidth != fraction.maxWidth || fraction.minWidth == 0) {
+                return false;
+            }
+            elements.add(fraction);
+            return true;
+        }
+        return false;
+    }
+
+    private static int fieldOp(TemporalField field) {
+        if (field instanceof ChronoField) {
+            switch ((ChronoField) field) {
+                case YEAR: return YEAR;
+                case YEAR_OF_ERA: return YEAR_OF_ERA;
+                case MONTH_OF_YEAR: return MONTH_OF_YEAR;
+                case DAY_OF_MONTH: return DAY_OF_MONTH;
+                case DAY_OF_YEAR: return DAY_OF_YEAR;
+                case HOUR_OF_DAY: return HOUR_OF_DAY;
+                case CLOCK_HOUR_OF_DAY: return CLOCK_HOUR_OF_DAY;
+                case HOUR_OF_AMPM: return HOUR_OF_AMPM;
+                case CLOCK_HOUR_OF_AMPM: return CLOCK_HOUR_OF_AMPM;
+                case MINUTE_OF_HOUR: return MINUTE_OF_HOUR;
+                case SECOND_OF_MINUTE: return SECOND_OF_MINUTE;
+                case MILLI_OF_SECOND: return MILLI_OF_SECOND;
+                case NANO_OF_SECOND: return NANO_OF_SECOND;
+                default: break;
+            }
+        }
+        return -1;
+    }
+
+    //-----------------------------------------------------------------------
+    private CompiledPrinter(int[] ops, String[] literals, int[] minWidths, int[] maxWidths, boolean[] exceedsPad,
+                    char zeroDigit, ZoneId zone, boolean needsDate, boolean needsTime) {
+        this.ops = ops;
+        this.literals = literals;
+        this.minWidths = minWidths;
+        this.maxWidths = maxWidths;
+        this.exceedsPad = exceedsPad;
+        this.zeroDigit = zeroDigit;
+        this.zone = zone;
+        this.needsDate = needsDate;
+        this.needsTime = needsTime;
+    }
+
+    /**
+     * Prints the temporal if it is a known type.
+     * <p>
+     * Nothing is appended if false is returned.
+     *
+     * @param temporal  the temporal to print, not null
+     * @param buf  the buffer to append to, not null
+     * @return true if printed, false if the general printer-parsers must be used
+     */
+    boolean print(TemporalAccessor temporal, StringBuilder buf) {
+        LocalDate date = null;
+        LocalTime time = null;
+        if (temporal instanceof LocalDateTime) {
+            LocalDateTime ldt = (LocalDateTime) temporal;
+            date = ldt.toLocalDate();
+            time = ldt.toLocalTime();
+        } else if (temporal instanceof LocalDate) {
+            date = (LocalDate) temporal;
+        } else if (temporal instanceof LocalTime) {
+            time = (LocalTime) temporal;
+        } else {
+            LocalDateTime ldt;
+            if (zone != null && (temporal instanceof Instant ||
+                    temporal instanceof OffsetDateTime || temporal instanceof ZonedDateTime)) {
+                Instant instant = Instant.from(temporal);
+                ldt = LocalDateTime.ofEpochSecond(
+                        instant.getEpochSecond(), instant.getNano(), zone.getRules().getOffset(instant));
+            } else if (temporal instanceof OffsetDateTime) {
+                ldt = ((OffsetDateTime) temporal).toLocalDateTime();
+            } else if (temporal instanceof ZonedDateTime) {
+                ldt = ((ZonedDateTime) temporal).toLocalDateTime();
+            } else {
+                return false;
+            }
+            date = ldt.toLocalDate();
+            time = ldt.toLocalTime();
+        }
+        if ((needsDate && date == null) || (needsTime && time == null)) {
+            return false;
+        }
+        int start = buf.length();
+        for (int i = 0; i < ops.length; i++) {
+            int op = ops[i];
+            if (op == LITERAL) {
+                buf.append(literals[i]);
+            } else if (op == FRACTION) {
+                int width = minWidths[i];
+                buf.append(literals[i]);
+                NumberPrinterParser.appendDigits(buf, time.getNano() / maxWidths[i], width, zeroDigit);
+            } else {
+                long value = value(op, date, time);
+                int length = NumberPrinterParser.digitCount(value);
+                if (value < 0 || length > maxWidths[i] || (exceedsPad[i] && length > minWidths[i])) {
+                    buf.setLength(start);
+                    return false;
+                }
+                for (int j = length; j < minWidths[i]; j++) {
+                    buf.append(zeroDigit);
+                }
+                NumberPrinterParser.appendDigits(buf, value, length, zeroDigit);
+            }
+        }
+        return true;
+    }
+
+    private static long value(int op, LocalDate date, LocalTime time) {
+        switch (op) {
+            case YEAR:
+                return date.getYear();
+            case YEAR_OF_ERA: {
+                int year = date.getYear();
+                return (year >= 1 ? year : 1 - year);
+            }
+            case MONTH_OF_YEAR:
+                return date.getMonthValue();
+            case DAY_OF_MONTH:
+                return date.getDayOfMonth();
+            case DAY_OF_YEAR:
+                return date.getDayOfYear();
+            case HOUR_OF_DAY:
+                return time.getHour();
+            case CLOCK_HOUR_OF_DAY: {
+                int hour = time.getHour();
+                return (hour == 0 ? 24 : hour);
+            }
+            case HOUR_OF_AMPM:
+                return time.getHour() % 12;
+            case CLOCK_HOUR_OF_AMPM: {
+                int hour = time.getHour() % 12;
+                return (hour == 0 ? 12 : hour);
+            }
+            case MINUTE_OF_HOUR:
+                return time.getMinute();
+            case SECOND_OF_MINUTE:
+                return time.getSecond();
+            case MILLI_OF_SECOND:
+                return time.getNano() / 1000000;
+            default:
+                return time.getNano();
+        }
+    }
+
+}
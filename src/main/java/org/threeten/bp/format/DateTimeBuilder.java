@@ -50,7 +50,6 @@ import static org.threeten.bp.temporal.ChronoField.OFFSET_SECONDS;
 import static org.threeten.bp.temporal.ChronoField.SECOND_OF_DAY;
 import static org.threeten.bp.temporal.ChronoField.SECOND_OF_MINUTE;
 
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -99,7 +98,7 @@ final class DateTimeBuilder
     /**
      * The map of other fields.
      */
-    final Map<TemporalField, Long> fieldValues = new HashMap<TemporalField, Long>();
+    final FieldValueMap fieldValues = new FieldValueMap();
     /**
      * The chronology.
      */
@@ -145,10 +144,6 @@ final class DateTimeBuilder
     }
 
     //-----------------------------------------------------------------------
-    private Long getFieldValue0(TemporalField field) {
-        return fieldValues.get(field);
-    }
-
     /**
      * Adds a field-value pair to the builder.
      * <p>
@@ -165,15 +160,14 @@ final class DateTimeBuilder
      */
     DateTimeBuilder addFieldValue(TemporalField field, long value) {
         Jdk8Methods.requireNonNull(field, "field");
-        Long old = getFieldValue0(field);  // check first for better error message
-        if (old != null && old.longValue() != value) {
-            throw new DateTimeException("Conflict found: " + field + " " + old + " differs from " + field + " " + value + ": " + this);
+        if (fieldValues.containsField(field) && fieldValues.getValue(field) != value) {  // check first for better error message
+            throw new DateTimeException("Conflict found: " + field + " " + fieldValues.getValue(field) + " differs from " + field + " " + value + ": " + this);
         }
         return putFieldValue0(field, value);
     }
 
     private DateTimeBuilder putFieldValue0(TemporalField field, long value) {
-        fieldValues.put(field, value);
+        fieldValues.putValue(field, value);
         return this;
     }
 
@@ -256,7 +250,7 @@ final class DateTimeBuilder
                         continue outer;  // have to restart to avoid concurrent modification
                     }
                     throw new DateTimeException("Unknown type: " + resolvedObject.getClass().getName());
-                } else if (fieldValues.containsKey(targetField) == false) {
+                } else if (fieldValues.containsField(targetField) == false) {
                     changes++;
                     continue outer;  // have to restart to avoid concurrent modification
                 }
@@ -296,8 +290,8 @@ final class DateTimeBuilder
         if (chrono instanceof IsoChronology) {
             checkDate(IsoChronology.INSTANCE.resolveDate(fieldValues, resolverStyle));
         } else {
-            if (fieldValues.containsKey(EPOCH_DAY)) {
-                checkDate(LocalDate.ofEpochDay(fieldValues.remove(EPOCH_DAY)));
+            if (fieldValues.containsField(EPOCH_DAY)) {
+                checkDate(LocalDate.ofEpochDay(fieldValues.removeValue(EPOCH_DAY)));
                 return;
             }
         }
@@ -326,8 +320,8 @@ final class DateTimeBuilder
     }
 
     private void mergeTime(ResolverStyle resolverStyle) {
-        if (fieldValues.containsKey(CLOCK_HOUR_OF_DAY)) {
-            long ch = fieldValues.remove(CLOCK_HOUR_OF_DAY);
+        if (fieldValues.containsField(CLOCK_HOUR_OF_DAY)) {
+            long ch = fieldValues.removeValue(CLOCK_HOUR_OF_DAY);
             if (resolverStyle != ResolverStyle.LENIENT) {
                 if (resolverStyle == ResolverStyle.SMART && ch == 0) {
                     // ok
@@ -337,8 +331,8 @@ final class DateTimeBuilder
             }
             addFieldValue(HOUR_OF_DAY, ch == 24 ? 0 : ch);
         }
-        if (fieldValues.containsKey(CLOCK_HOUR_OF_AMPM)) {
-            long ch = fieldValues.remove(CLOCK_HOUR_OF_AMPM);
+        if (fieldValues.containsField(CLOCK_HOUR_OF_AMPM)) {
+            long ch = fieldValues.removeValue(CLOCK_HOUR_OF_AMPM);
             if (resolverStyle != ResolverStyle.LENIENT) {
                 if (resolverStyle == ResolverStyle.SMART && ch == 0) {
                     // ok
@@ -349,16 +343,16 @@ final class DateTimeBuilder
             addFieldValue(HOUR_OF_AMPM, ch == 12 ? 0 : ch);
         }
         if (resolverStyle != ResolverStyle.LENIENT) {
-            if (fieldValues.containsKey(AMPM_OF_DAY)) {
-                AMPM_OF_DAY.checkValidValue(fieldValues.get(AMPM_OF_DAY));
+            if (fieldValues.containsField(AMPM_OF_DAY)) {
+                AMPM_OF_DAY.checkValidValue(fieldValues.getValue(AMPM_OF_DAY));
             }
-            if (fieldValues.containsKey(HOUR_OF_AMPM)) {
-                HOUR_OF_AMPM.checkValidValue(fieldValues.get(HOUR_OF_AMPM));
+            if (fieldValues.containsField(HOUR_OF_AMPM)) {
+                HOUR_OF_AMPM.checkValidValue(fieldValues.getValue(HOUR_OF_AMPM));
             }
         }
-        if (fieldValues.containsKey(AMPM_OF_DAY) && fieldValues.containsKey(HOUR_OF_AMPM)) {
-            long ap = fieldValues.remove(AMPM_OF_DAY);
-            long hap = fieldValues.remove(HOUR_OF_AMPM);
+        if (fieldValues.containsField(AMPM_OF_DAY) && fieldValues.containsField(HOUR_OF_AMPM)) {
+            long ap = fieldValues.removeValue(AMPM_OF_DAY);
+            long hap = fieldValues.removeValue(HOUR_OF_AMPM);
             addFieldValue(HOUR_OF_DAY, ap * 12 + hap);
         }
 //        if (timeFields.containsKey(HOUR_OF_DAY) && timeFields.containsKey(MINUTE_OF_HOUR)) {
@@ -371,32 +365,32 @@ final class DateTimeBuilder
 //            long som = timeFields.remove(SECOND_OF_MINUTE);
 //            addFieldValue(SECOND_OF_DAY, mod * 60 + som);
 //        }
-        if (fieldValues.containsKey(NANO_OF_DAY)) {
-            long nod = fieldValues.remove(NANO_OF_DAY);
+        if (fieldValues.containsField(NANO_OF_DAY)) {
+            long nod = fieldValues.removeValue(NANO_OF_DAY);
             if (resolverStyle != ResolverStyle.LENIENT) {
                 NANO_OF_DAY.checkValidValue(nod);
             }
             addFieldValue(SECOND_OF_DAY, nod / 1000000000L);
             addFieldValue(NANO_OF_SECOND, nod % 1000000000L);
         }
-        if (fieldValues.containsKey(MICRO_OF_DAY)) {
-            long cod = fieldValues.remove(MICRO_OF_DAY);
+        if (fieldValues.containsField(MICRO_OF_DAY)) {
+            long cod = fieldValues.removeValue(MICRO_OF_DAY);
             if (resolverStyle != ResolverStyle.LENIENT) {
                 MICRO_OF_DAY.checkValidValue(cod);
             }
             addFieldValue(SECOND_OF_DAY, cod / 1000000L);
             addFieldValue(MICRO_OF_SECOND, cod % 1000000L);
         }
-        if (fieldValues.containsKey(MILLI_OF_DAY)) {
-            long lod = fieldValues.remove(MILLI_OF_DAY);
+        if (fieldValues.containsField(MILLI_OF_DAY)) {
+            long lod = fieldValues.removeValue(MILLI_OF_DAY);
             if (resolverStyle != ResolverStyle.LENIENT) {
                 MILLI_OF_DAY.checkValidValue(lod);
             }
             addFieldValue(SECOND_OF_DAY, lod / 1000);
             addFieldValue(MILLI_OF_SECOND, lod % 1000);
         }
-        if (fieldValues.containsKey(SECOND_OF_DAY)) {
-            long sod = fieldValues.remove(SECOND_OF_DAY);
+        if (fieldValues.containsField(SECOND_OF_DAY)) {
+            long sod = fieldValues.removeValue(SECOND_OF_DAY);
             if (resolverStyle != ResolverStyle.LENIENT) {
                 SECOND_OF_DAY.checkValidValue(sod);
             }
@@ -404,8 +398,8 @@ final class DateTimeBuilder
             addFieldValue(MINUTE_OF_HOUR, (sod / 60) % 60);
             addFieldValue(SECOND_OF_MINUTE, sod % 60);
         }
-        if (fieldValues.containsKey(MINUTE_OF_DAY)) {
-            long mod = fieldValues.remove(MINUTE_OF_DAY);
+        if (fieldValues.containsField(MINUTE_OF_DAY)) {
+            long mod = fieldValues.removeValue(MINUTE_OF_DAY);
             if (resolverStyle != ResolverStyle.LENIENT) {
                 MINUTE_OF_DAY.checkValidValue(mod);
             }
@@ -419,33 +413,33 @@ final class DateTimeBuilder
 //            addFieldValue(SECOND_OF_MINUTE, sod % 60);
 //            addFieldValue(NANO_OF_SECOND, nod % 1000000000L);
         if (resolverStyle != ResolverStyle.LENIENT) {
-            if (fieldValues.containsKey(MILLI_OF_SECOND)) {
-                MILLI_OF_SECOND.checkValidValue(fieldValues.get(MILLI_OF_SECOND));
+            if (fieldValues.containsField(MILLI_OF_SECOND)) {
+                MILLI_OF_SECOND.checkValidValue(fieldValues.getValue(MILLI_OF_SECOND));
             }
-            if (fieldValues.containsKey(MICRO_OF_SECOND)) {
-                MICRO_OF_SECOND.checkValidValue(fieldValues.get(MICRO_OF_SECOND));
+            if (fieldValues.containsField(MICRO_OF_SECOND)) {
+                MICRO_OF_SECOND.checkValidValue(fieldValues.getValue(MICRO_OF_SECOND));
             }
         }
-        if (fieldValues.containsKey(MILLI_OF_SECOND) && fieldValues.containsKey(MICRO_OF_SECOND)) {
-            long los = fieldValues.remove(MILLI_OF_SECOND);
-            long cos = fieldValues.get(MICRO_OF_SECOND);
+        if (fieldValues.containsField(MILLI_OF_SECOND) && fieldValues.containsField(MICRO_OF_SECOND)) {
+            long los = fieldValues.removeValue(MILLI_OF_SECOND);
+            long cos = fieldValues.getValue(MICRO_OF_SECOND);
             addFieldValue(MICRO_OF_SECOND, los * 1000 + (cos % 1000));
         }
-        if (fieldValues.containsKey(MICRO_OF_SECOND) && fieldValues.containsKey(NANO_OF_SECOND)) {
-            long nos = fieldValues.get(NANO_OF_SECOND);
+        if (fieldValues.containsField(MICRO_OF_SECOND) && fieldValues.containsField(NANO_OF_SECOND)) {
+            long nos = fieldValues.getValue(NANO_OF_SECOND);
             addFieldValue(MICRO_OF_SECOND, nos / 1000);
-            fieldValues.remove(MICRO_OF_SECOND);
+            fieldValues.removeValue(MICRO_OF_SECOND);
         }
-        if (fieldValues.containsKey(MILLI_OF_SECOND) && fieldValues.containsKey(NANO_OF_SECOND)) {
-            long nos = fieldValues.get(NANO_OF_SECOND);
+        if (fieldValues.containsField(MILLI_OF_SECOND) && fieldValues.containsField(NANO_OF_SECOND)) {
+            long nos = fieldValues.getValue(NANO_OF_SECOND);
             addFieldValue(MILLI_OF_SECOND, nos / 1000000);
-            fieldValues.remove(MILLI_OF_SECOND);
+            fieldValues.removeValue(MILLI_OF_SECOND);
         }
-        if (fieldValues.containsKey(MICRO_OF_SECOND)) {
-            long cos = fieldValues.remove(MICRO_OF_SECOND);
+        if (fieldValues.containsField(MICRO_OF_SECOND)) {
+            long cos = fieldValues.removeValue(MICRO_OF_SECOND);
             addFieldValue(NANO_OF_SECOND, cos * 1000);
-        } else if (fieldValues.containsKey(MILLI_OF_SECOND)) {
-            long los = fieldValues.remove(MILLI_OF_SECOND);
+        } else if (fieldValues.containsField(MILLI_OF_SECOND)) {
+            long los = fieldValues.removeValue(MILLI_OF_SECOND);
             addFieldValue(NANO_OF_SECOND, los * 1000000);
         }
     }
@@ -528,15 +522,15 @@ final class DateTimeBuilder
                 }
             }
         }
-        fieldValues.remove(HOUR_OF_DAY);
-        fieldValues.remove(MINUTE_OF_HOUR);
-        fieldValues.remove(SECOND_OF_MINUTE);
-        fieldValues.remove(NANO_OF_SECOND);
+        fieldValues.removeValue(HOUR_OF_DAY);
+        fieldValues.removeValue(MINUTE_OF_HOUR);
+        fieldValues.removeValue(SECOND_OF_MINUTE);
+        fieldValues.removeValue(NANO_OF_SECOND);
     }
 
     //-----------------------------------------------------------------------
     private void mergeInstantFields() {
-        if (fieldValues.containsKey(INSTANT_SECONDS)) {
+        if (fieldValues.containsField(INSTANT_SECONDS)) {
             if (zone != null) {
                 mergeInstantFields0(zone);
             } else {
@@ -550,7 +544,7 @@ final class DateTimeBuilder
     }
 
     private void mergeInstantFields0(ZoneId selectedZone) {
-        Instant instant = Instant.ofEpochSecond(fieldValues.remove(INSTANT_SECONDS));
+        Instant instant = Instant.ofEpochSecond(fieldValues.removeValue(INSTANT_SECONDS));
         ChronoZonedDateTime<?> zdt = chrono.zonedDateTime(instant, selectedZone);
         if (date == null) {
             addObject(zdt.toLocalDate());
@@ -597,17 +591,17 @@ final class DateTimeBuilder
 
     private void resolveFractional() {
         if (time == null &&
-                (fieldValues.containsKey(INSTANT_SECONDS) ||
-                    fieldValues.containsKey(SECOND_OF_DAY) ||
-                    fieldValues.containsKey(SECOND_OF_MINUTE))) {
-            if (fieldValues.containsKey(NANO_OF_SECOND)) {
-                long nos = fieldValues.get(NANO_OF_SECOND);
-                fieldValues.put(MICRO_OF_SECOND, nos / 1000);
-                fieldValues.put(MILLI_OF_SECOND, nos / 1000000);
+                (fieldValues.containsField(INSTANT_SECONDS) ||
+                    fieldValues.containsField(SECOND_OF_DAY) ||
+                    fieldValues.containsField(SECOND_OF_MINUTE))) {
+            if (fieldValues.containsField(NANO_OF_SECOND)) {
+                long nos = fieldValues.getValue(NANO_OF_SECOND);
+                fieldValues.putValue(MICRO_OF_SECOND, nos / 1000);
+                fieldValues.putValue(MILLI_OF_SECOND, nos / 1000000);
             } else {
-                fieldValues.put(NANO_OF_SECOND, 0L);
-                fieldValues.put(MICRO_OF_SECOND, 0L);
-                fieldValues.put(MILLI_OF_SECOND, 0L);
+                fieldValues.putValue(NANO_OF_SECOND, 0);
+                fieldValues.putValue(MICRO_OF_SECOND, 0);
+                fieldValues.putValue(MILLI_OF_SECOND, 0);
             }
         }
     }
@@ -650,7 +644,7 @@ final class DateTimeBuilder
         if (field == null) {
             return false;
         }
-        return fieldValues.containsKey(field) ||
+        return fieldValues.containsField(field) ||
                 (date != null && date.isSupported(field)) ||
                 (time != null && time.isSupported(field));
     }
@@ -658,17 +652,16 @@ final class DateTimeBuilder
     @Override
     public long getLong(TemporalField field) {
         Jdk8Methods.requireNonNull(field, "field");
-        Long value = getFieldValue0(field);
-        if (value == null) {
-            if (date != null && date.isSupported(field)) {
-                return date.getLong(field);
-            }
-            if (time != null && time.isSupported(field)) {
-                return time.getLong(field);
-            }
-            throw new DateTimeException("Field not found: " + field);
+        if (fieldValues.containsField(field)) {
+            return fieldValues.getValue(field);
+        }
+        if (date != null && date.isSupported(field)) {
+            return date.getLong(field);
+        }
+        if (time != null && time.isSupported(field)) {
+            return time.getLong(field);
         }
-        return value;
+        throw new DateTimeException("Field not found: " + field);
     }
 
     @SuppressWarnings("unchecked")
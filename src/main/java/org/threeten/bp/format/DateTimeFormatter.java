@@ -35,6 +35,7 @@ import static org.threeten.bp.temporal.ChronoField.DAY_OF_MONTH;
 import static org.threeten.bp.temporal.ChronoField.DAY_OF_WEEK;
 import static org.threeten.bp.temporal.ChronoField.DAY_OF_YEAR;
 import static org.threeten.bp.temporal.ChronoField.HOUR_OF_DAY;
+import static org.threeten.bp.temporal.ChronoField.INSTANT_SECONDS;
 import static org.threeten.bp.temporal.ChronoField.MINUTE_OF_HOUR;
 import static org.threeten.bp.temporal.ChronoField.MONTH_OF_YEAR;
 import static org.threeten.bp.temporal.ChronoField.NANO_OF_SECOND;
@@ -42,19 +43,29 @@ import static org.threeten.bp.temporal.ChronoField.SECOND_OF_MINUTE;
 import static org.threeten.bp.temporal.ChronoField.YEAR;
 
 import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.text.FieldPosition;
 import java.text.Format;
 import java.text.ParseException;
 import java.text.ParsePosition;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
 import org.threeten.bp.DateTimeException;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.OffsetDateTime;
 import org.threeten.bp.Period;
 import org.threeten.bp.ZoneId;
 import org.threeten.bp.ZoneOffset;
@@ -67,6 +78,7 @@ import org.threeten.bp.temporal.ChronoField;
 import org.threeten.bp.temporal.IsoFields;
 import org.threeten.bp.temporal.TemporalAccessor;
 import org.threeten.bp.temporal.TemporalField;
+import org.threeten.bp.temporal.TemporalQueries;
 import org.threeten.bp.temporal.TemporalQuery;
 
 /**
@@ -764,7 +776,7 @@ public final class DateTimeFormatter {
      * @see DateTimeFormatterBuilder#appendPattern(String)
      */
     public static DateTimeFormatter ofPattern(String pattern) {
-        return new DateTimeFormatterBuilder().appendPattern(pattern).toFormatter();
+        return ofPattern(pattern, Locale.getDefault());
     }
 
     /**
@@ -785,9 +797,86 @@ public final class DateTimeFormatter {
      * @see DateTimeFormatterBuilder#appendPattern(String)
      */
     public static DateTimeFormatter ofPattern(String pattern, Locale locale) {
+        PatternCache cache = patternCache;
+        if (cache != null) {
+            Jdk8Methods.requireNonNull(pattern, "pattern");
+            Jdk8Methods.requireNonNull(locale, "locale");
+            return cache.get(pattern, locale);
+        }
         return new DateTimeFormatterBuilder().appendPattern(pattern).toFormatter(locale);
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Sets the maximum size of the cache of formatters created by {@code ofPattern}.
+     * <p>
+     * By default, each call to {@link #ofPattern(String, Locale)} parses the pattern
+     * and creates a new formatter. Applications that repeatedly call {@code ofPattern}
+     * with a small number of distinct patterns can instead enable a cache, keyed by
+     * the pattern and locale, that returns the same immutable formatter each time.
+     * When the cache is full, the least recently used formatter is evicted.
+     * <p>
+     * The cache can also be enabled at startup using the system property
+     * {@code org.threeten.bp.format.DateTimeFormatter.patternCacheSize}.
+     * Setting the size replaces any existing cache, discarding its contents and statistics.
+     *
+     * @param maxSize  the maximum number of formatters to cache, zero to disable the cache
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public static void setPatternCacheSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative: " + maxSize);
+        }
+        patternCache = (maxSize > 0 ? new PatternCache(maxSize) : null);
+    }
+
+    /**
+     * Gets the maximum size of the cache of formatters created by {@code ofPattern}.
+     *
+     * @return the maximum number of formatters cached, zero if the cache is disabled
+     */
+    public static int getPatternCacheSize() {
+        PatternCache cache = patternCache;
+        return (cache != null ? cache.getMaxSize() : 0);
+    }
+
+    /**
+     * Gets the number of calls to {@code ofPattern} that returned a cached formatter.
+     * <p>
+     * The hit rate is the hit count divided by the sum of the hit and miss counts.
+     *
+     * @return the number of cache hits since the cache was enabled, zero if disabled
+     */
+    public static long getPatternCacheHitCount() {
+        PatternCache cache = patternCache;
+        return (cache != null ? cache.getHitCount() : 0);
+    }
+
+    /**
+     * Gets the number of calls to {@code ofPattern} that created a formatter while the cache was enabled.
+     *
+     * @return the number of cache misses since the cache was enabled, zero if disabled
+     */
+    public static long getPatternCacheMissCount() {
+        PatternCache cache = patternCache;
+        return (cache != null ? cache.getMissCount() : 0);
+    }
+
+    /**
+     * Reads the system property controlling the initial size of the pattern cache.
+     *
+     * @return the cache, null if disabled
+     */
+    private static PatternCache createPatternCache() {
+        int maxSize;
+        try {
+            maxSize = Integer.getInteger("org.threeten.bp.format.DateTimeFormatter.patternCacheSize", 0);
+        } catch (SecurityException ex) {
+            maxSize = 0;
+        }
+        return (maxSize > 0 ? new PatternCache(maxSize) : null);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Returns a locale specific date format.
@@ -985,6 +1074,20 @@ public final class DateTimeFormatter {
     };
 
     //-----------------------------------------------------------------------
+    /**
+     * The cache of formatters created from patterns, null if disabled.
+     */
+    private static volatile PatternCache patternCache = createPatternCache();
+    /**
+     * The buffer reused by each thread when printing to arrays and buffers.
+     */
+    private static final ThreadLocal<StringBuilder> SCRATCH_BUFFER = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(64);
+        }
+    };
+
     /**
      * The printer and/or parser to use, not null.
      */
@@ -1013,6 +1116,10 @@ public final class DateTimeFormatter {
      * The zone to use for formatting, null for no override.
      */
     private final ZoneId zone;
+    /**
+     * The compiled printer, null if the formatter cannot be compiled.
+     */
+    private final CompiledPrinter compiledPrinter;
 
     //-----------------------------------------------------------------------
     /**
@@ -1036,6 +1143,7 @@ public final class DateTimeFormatter {
         this.resolverFields = resolverFields;
         this.chrono = chrono;
         this.zone = zone;
+        this.compiledPrinter = CompiledPrinter.compile(printerParser, decimalStyle, chrono, zone);
     }
 
     //-----------------------------------------------------------------------
@@ -1380,13 +1488,12 @@ public final class DateTimeFormatter {
         Jdk8Methods.requireNonNull(temporal, "temporal");
         Jdk8Methods.requireNonNull(appendable, "appendable");
         try {
-            DateTimePrintContext context = new DateTimePrintContext(temporal, this);
             if (appendable instanceof StringBuilder) {
-                printerParser.print(context, (StringBuilder) appendable);
+                print(temporal, (StringBuilder) appendable);
             } else {
                 // buffer output to avoid writing to appendable in case of error
                 StringBuilder buf = new StringBuilder(32);
-                printerParser.print(context, buf);
+                print(temporal, buf);
                 appendable.append(buf);
             }
         } catch (IOException ex) {
@@ -1394,6 +1501,130 @@ public final class DateTimeFormatter {
         }
     }
 
+    /**
+     * Formats a date-time object into a {@code char} array using this formatter.
+     * <p>
+     * This formats the date-time directly into the array at the specified offset,
+     * without creating a {@code String}. Internally, a buffer is reused for each thread,
+     * thus no objects need be created for formatters consisting of numeric fields and literals.
+     * Nothing is written if an exception is thrown.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param array  the array to print to, not null
+     * @param offset  the offset in the array to start printing at
+     * @return the number of characters written
+     * @throws DateTimeException if an error occurs during formatting
+     * @throws IndexOutOfBoundsException if the offset is invalid or the array is too short
+     */
+    public int formatTo(TemporalAccessor temporal, char[] array, int offset) {
+        Jdk8Methods.requireNonNull(temporal, "temporal");
+        Jdk8Methods.requireNonNull(array, "array");
+        if (offset < 0 || offset > array.length) {
+            throw new IndexOutOfBoundsException("Invalid offset: " + offset);
+        }
+        StringBuilder buf = printToScratch(temporal);
+        int length = buf.length();
+        if (length > array.length - offset) {
+            throw new IndexOutOfBoundsException("Array too short, " + length + " characters required from offset " + offset);
+        }
+        buf.getChars(0, length, array, offset);
+        return length;
+    }
+
+    /**
+     * Formats a date-time object into a {@code CharBuffer} using this formatter.
+     * <p>
+     * This formats the date-time directly into the buffer at its current position,
+     * without creating a {@code String}, advancing the position by the length written.
+     * Internally, a buffer is reused for each thread, thus no objects need be created
+     * for formatters consisting of numeric fields and literals.
+     * Nothing is written if an exception is thrown.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param buffer  the buffer to print to, not null
+     * @return the number of characters written
+     * @throws DateTimeException if an error occurs during formatting
+     * @throws BufferOverflowException if there is insufficient space remaining in the buffer
+     * @throws ReadOnlyBufferException if the buffer is read-only
+     */
+    public int formatTo(TemporalAccessor temporal, CharBuffer buffer) {
+        Jdk8Methods.requireNonNull(temporal, "temporal");
+        Jdk8Methods.requireNonNull(buffer, "buffer");
+        StringBuilder buf = printToScratch(temporal);
+        int length = buf.length();
+        if (length > buffer.remaining()) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0; i < length; i++) {
+            buffer.put(buf.charAt(i));
+        }
+        return length;
+    }
+
+    /**
+     * Formats a date-time object into a {@code ByteBuffer} as ISO-8859-1 using this formatter.
+     * <p>
+     * This formats the date-time directly into the buffer at its current position,
+     * encoding each character as a single byte, advancing the position by the length written.
+     * Text consisting only of ASCII characters is thus also valid UTF-8.
+     * Internally, a buffer is reused for each thread, thus no objects need be created
+     * for formatters consisting of numeric fields and literals.
+     * Nothing is written if an exception is thrown.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param buffer  the buffer to print to, not null
+     * @return the number of bytes written
+     * @throws DateTimeException if an error occurs during formatting, including
+     *  if the formatted text contains a character outside ISO-8859-1
+     * @throws BufferOverflowException if there is insufficient space remaining in the buffer
+     * @throws ReadOnlyBufferException if the buffer is read-only
+     */
+    public int formatTo(TemporalAccessor temporal, ByteBuffer buffer) {
+        Jdk8Methods.requireNonNull(temporal, "temporal");
+        Jdk8Methods.requireNonNull(buffer, "buffer");
+        StringBuilder buf = printToScratch(temporal);
+        int length = buf.length();
+        for (int i = 0; i < length; i++) {
+            if (buf.charAt(i) > 0xFF) {
+                throw new DateTimeException("Formatted text cannot be encoded as ISO-8859-1: " + buf);
+            }
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0; i < length; i++) {
+            buffer.put((byte) buf.charAt(i));
+        }
+        return length;
+    }
+
+    /**
+     * Prints the temporal, using the compiled printer if possible.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @param buf  the buffer to print to, not null
+     */
+    private void print(TemporalAccessor temporal, StringBuilder buf) {
+        if (compiledPrinter == null || compiledPrinter.print(temporal, buf) == false) {
+            printerParser.print(new DateTimePrintContext(temporal, this), buf);
+        }
+    }
+
+    /**
+     * Prints the temporal to the buffer for the current thread.
+     * <p>
+     * The buffer is only valid until the next call on the same thread.
+     *
+     * @param temporal  the temporal object to print, not null
+     * @return the buffer containing the printed text, not null
+     */
+    private StringBuilder printToScratch(TemporalAccessor temporal) {
+        StringBuilder buf = SCRATCH_BUFFER.get();
+        buf.setLength(0);
+        print(temporal, buf);
+        return buf;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Fully parses the text producing a temporal object.
@@ -1477,6 +1708,10 @@ public final class DateTimeFormatter {
      * </pre>
      * If the parse completes without reading the entire length of the text,
      * or a problem occurs during parsing or merging, then an exception is thrown.
+     * <p>
+     * When {@link #ISO_INSTANT}, {@link #ISO_LOCAL_DATE_TIME} or {@link #ISO_OFFSET_DATE_TIME}
+     * are used to parse to their natural type, text in the regular fixed-width layout
+     * is parsed by a faster specialized parser with the same result.
      *
      * @param <T> the type to extract
      * @param text  the text to parse, not null
@@ -1484,9 +1719,14 @@ public final class DateTimeFormatter {
      * @return the parsed date-time, not null
      * @throws DateTimeParseException if unable to parse the requested result
      */
+    @SuppressWarnings("unchecked")
     public <T> T parse(CharSequence text, TemporalQuery<T> type) {
         Jdk8Methods.requireNonNull(text, "text");
         Jdk8Methods.requireNonNull(type, "type");
+        Object fast = parseIsoFast(text, type);
+        if (fast != null) {
+            return (T) fast;
+        }
         try {
             DateTimeBuilder builder = parseToBuilder(text, null).resolve(resolverStyle, resolverFields);
             return builder.build(type);
@@ -1497,6 +1737,76 @@ public final class DateTimeFormatter {
         }
     }
 
+    /**
+     * Fully parses ASCII or UTF-8 bytes producing an object of the specified type.
+     * <p>
+     * This behaves as {@link #parse(CharSequence, TemporalQuery)}, but reads the text
+     * from a range of a byte array, such as one read from a file or network.
+     * If the bytes are all ASCII, they are parsed in place without decoding them
+     * to a {@code String}. Otherwise, they are decoded as UTF-8 before parsing.
+     *
+     * @param <T> the type to extract
+     * @param bytes  the bytes to parse, not null
+     * @param offset  the offset of the first byte to parse
+     * @param length  the number of bytes to parse
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, not null
+     * @throws DateTimeParseException if unable to parse the requested result
+     * @throws IndexOutOfBoundsException if the range is invalid
+     */
+    public <T> T parse(byte[] bytes, int offset, int length, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(bytes, "bytes");
+        return parse(AsciiCharSequence.of(bytes, offset, length), type);
+    }
+
+    /**
+     * Fully parses the remaining ASCII or UTF-8 bytes of a buffer producing an object of the specified type.
+     * <p>
+     * This behaves as {@link #parse(CharSequence, TemporalQuery)}, but reads the text
+     * from the bytes between the position and limit of the buffer, such as a slice
+     * of a network buffer or memory-mapped file. The position of the buffer is not changed.
+     * If the bytes are all ASCII, they are parsed in place without decoding them
+     * to a {@code String}. Otherwise, they are decoded as UTF-8 before parsing.
+     *
+     * @param <T> the type to extract
+     * @param buffer  the buffer to parse, not null
+     * @param type  the type to extract, not null
+     * @return the parsed date-time, not null
+     * @throws DateTimeParseException if unable to parse the requested result
+     */
+    public <T> T parse(ByteBuffer buffer, TemporalQuery<T> type) {
+        Jdk8Methods.requireNonNull(buffer, "buffer");
+        return parse(AsciiCharSequence.of(buffer), type);
+    }
+
+    /**
+     * Parses the text using the fast path for the common ISO-8601 layouts.
+     * <p>
+     * This only applies to the predefined formatters when queried for their natural type.
+     * Text that is not in the regular layout returns null, leaving the general engine
+     * to parse it or produce the error.
+     *
+     * @param text  the text to parse, not null
+     * @param type  the type to extract, not null
+     * @return the parsed object of the requested type, null if the general engine must be used
+     */
+    private Object parseIsoFast(CharSequence text, TemporalQuery<?> type) {
+        if (this == ISO_INSTANT) {
+            if (type == Instant.FROM) {
+                return IsoFastParser.parseInstant(text);
+            }
+        } else if (this == ISO_LOCAL_DATE_TIME) {
+            if (type == LocalDateTime.FROM) {
+                return IsoFastParser.parseLocalDateTime(text);
+            }
+        } else if (this == ISO_OFFSET_DATE_TIME) {
+            if (type == OffsetDateTime.FROM) {
+                return IsoFastParser.parseOffsetDateTime(text);
+            }
+        }
+        return null;
+    }
+
     /**
      * Fully parses the text producing an object of one of the specified types.
      * <p>
@@ -1559,6 +1869,177 @@ public final class DateTimeFormatter {
         return new DateTimeParseException("Text '" + abbr + "' could not be parsed: " + ex.getMessage(), text, 0, ex);
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Fully parses the text without throwing an exception if the text is invalid.
+     * <p>
+     * This parses and resolves the entire text in the same way as {@link #parse(CharSequence)},
+     * however errors are reported via the result object instead of by throwing
+     * {@link DateTimeParseException}. No error message is created unless requested.
+     * The result object may be reused for many parses, avoiding the cost of allocation.
+     * For example:
+     * <pre>
+     *  DateTimeParseResult result = new DateTimeParseResult();
+     *  for (String str : column) {
+     *    if (formatter.tryParse(str, result)) {
+     *      LocalDate date = result.query(LocalDate.FROM);
+     *      ...
+     *    } else {
+     *      int errorIndex = result.getErrorIndex();
+     *      ...
+     *    }
+     *  }
+     * </pre>
+     *
+     * @param text  the text to parse, not null
+     * @param result  the result to populate, not null
+     * @return true if the text was successfully parsed and resolved
+     */
+    public boolean tryParse(CharSequence text, DateTimeParseResult result) {
+        Jdk8Methods.requireNonNull(text, "text");
+        Jdk8Methods.requireNonNull(result, "result");
+        result.reset(text);
+        try {
+            DateTimeBuilder builder = parseResolved0(text, result.position);
+            if (builder == null) {
+                return false;
+            }
+            result.setParsed(builder);
+            return true;
+        } catch (RuntimeException ex) {
+            result.setCause(ex);
+            return false;
+        }
+    }
+
+    /**
+     * Parses a column of text to dates, recording each as an epoch-day.
+     * <p>
+     * This fully parses and resolves each text in turn, querying the result for a
+     * {@code LocalDate}. The epoch-day of the date is stored in the same index of
+     * the output array. If a text is null, cannot be parsed, or does not resolve
+     * to a date, then the output value is zero and the matching bit in the failure set
+     * is set. Otherwise, the bit is cleared.
+     * No exceptions are thrown for invalid text. Use {@code Arrays.asList} to parse an array.
+     *
+     * @param texts  the texts to parse, not null, may contain nulls
+     * @param epochDays  the array to populate with the epoch-day of each date, not null
+     * @param failures  the set of indices that failed to parse, not null
+     * @return the number of texts that failed to parse
+     * @throws IllegalArgumentException if the output array is too short
+     */
+    public int parseEpochDays(List<? extends CharSequence> texts, long[] epochDays, BitSet failures) {
+        Jdk8Methods.requireNonNull(texts, "texts");
+        Jdk8Methods.requireNonNull(epochDays, "epochDays");
+        Jdk8Methods.requireNonNull(failures, "failures");
+        int size = texts.size();
+        if (epochDays.length < size) {
+            throw new IllegalArgumentException("Output array must be at least as long as the input");
+        }
+        failures.clear(0, size);
+        ParsePosition pos = new ParsePosition(0);
+        int failed = 0;
+        for (int i = 0; i < size; i++) {
+            LocalDate date = null;
+            CharSequence text = texts.get(i);
+            if (text != null) {
+                try {
+                    DateTimeBuilder builder = parseResolved0(text, pos);
+                    if (builder != null) {
+                        date = builder.query(TemporalQueries.localDate());
+                    }
+                } catch (RuntimeException ex) {
+                    // treat as failure
+                }
+            }
+            if (date != null) {
+                epochDays[i] = date.toEpochDay();
+            } else {
+                epochDays[i] = 0;
+                failures.set(i);
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Parses a column of text to instants, recording each as an epoch-second and nanosecond.
+     * <p>
+     * This fully parses and resolves each text in turn, querying the result for
+     * the instant-seconds and nano-of-second, as per {@code Instant.FROM}.
+     * These are stored in the same index of the output arrays. If a text is null,
+     * cannot be parsed, or does not resolve to an instant, then the output values are
+     * zero and the matching bit in the failure set is set. Otherwise, the bit is cleared.
+     * No exceptions are thrown for invalid text. Use {@code Arrays.asList} to parse an array.
+     *
+     * @param texts  the texts to parse, not null, may contain nulls
+     * @param epochSeconds  the array to populate with the epoch-seconds of each instant, not null
+     * @param nanos  the array to populate with the nano-of-second of each instant, not null
+     * @param failures  the set of indices that failed to parse, not null
+     * @return the number of texts that failed to parse
+     * @throws IllegalArgumentException if either output array is too short
+     */
+    public int parseInstants(List<? extends CharSequence> texts, long[] epochSeconds, int[] nanos, BitSet failures) {
+        Jdk8Methods.requireNonNull(texts, "texts");
+        Jdk8Methods.requireNonNull(epochSeconds, "epochSeconds");
+        Jdk8Methods.requireNonNull(nanos, "nanos");
+        Jdk8Methods.requireNonNull(failures, "failures");
+        int size = texts.size();
+        if (epochSeconds.length < size || nanos.length < size) {
+            throw new IllegalArgumentException("Output arrays must be at least as long as the input");
+        }
+        failures.clear(0, size);
+        ParsePosition pos = new ParsePosition(0);
+        int failed = 0;
+        for (int i = 0; i < size; i++) {
+            CharSequence text = texts.get(i);
+            if (text != null) {
+                try {
+                    DateTimeBuilder builder = parseResolved0(text, pos);
+                    if (builder != null && builder.isSupported(INSTANT_SECONDS)) {
+                        long secs = builder.getLong(INSTANT_SECONDS);
+                        int nos = builder.get(NANO_OF_SECOND);
+                        epochSeconds[i] = secs;
+                        nanos[i] = nos;
+                        continue;
+                    }
+                } catch (RuntimeException ex) {
+                    // treat as failure
+                }
+            }
+            epochSeconds[i] = 0;
+            nanos[i] = 0;
+            failures.set(i);
+            failed++;
+        }
+        return failed;
+    }
+
+    /**
+     * Fully parses and resolves the text without creating an exception for invalid text.
+     * <p>
+     * The position is reset and then updated with the error index if the text could not
+     * be parsed or was not fully parsed. Exceptions may still be thrown while resolving.
+     *
+     * @param text  the text to parse, not null
+     * @param position  the position to reuse, not null
+     * @return the resolved builder, null if unable to parse
+     */
+    private DateTimeBuilder parseResolved0(CharSequence text, ParsePosition position) {
+        position.setIndex(0);
+        position.setErrorIndex(-1);
+        Parsed parsed = parseUnresolved0(text, position);
+        if (parsed == null) {
+            return null;
+        }
+        if (position.getIndex() < text.length()) {
+            position.setErrorIndex(position.getIndex());
+            return null;
+        }
+        return parsed.toBuilder().resolve(resolverStyle, resolverFields);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Parses the text to a builder.
@@ -48,6 +48,7 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -62,6 +63,9 @@ import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.threeten.bp.DateTimeException;
 import org.threeten.bp.Instant;
@@ -1959,8 +1963,8 @@ public final class DateTimeFormatterBuilder {
      * Composite printer and parser.
      */
     static final class CompositePrinterParser implements DateTimePrinterParser {
-        private final DateTimePrinterParser[] printerParsers;
-        private final boolean optional;
+        final DateTimePrinterParser[] printerParsers;
+        final boolean optional;
 
         CompositePrinterParser(List<DateTimePrinterParser> printerParsers, boolean optional) {
             this(printerParsers.toArray(new DateTimePrinterParser[printerParsers.size()]), optional);
@@ -2049,7 +2053,7 @@ public final class DateTimeFormatterBuilder {
      * Pads the output to a fixed width.
      */
     static final class PadPrinterParserDecorator implements DateTimePrinterParser {
-        private final DateTimePrinterParser printerParser;
+        final DateTimePrinterParser printerParser;
         private final int padWidth;
         private final char padChar;
 
@@ -2192,7 +2196,7 @@ public final class DateTimeFormatterBuilder {
      * Prints or parses a character literal.
      */
     static final class CharLiteralPrinterParser implements DateTimePrinterParser {
-        private final char literal;
+        final char literal;
 
         CharLiteralPrinterParser(char literal) {
             this.literal = literal;
@@ -2231,7 +2235,7 @@ public final class DateTimeFormatterBuilder {
      * Prints or parses a string literal.
      */
     static final class StringLiteralPrinterParser implements DateTimePrinterParser {
-        private final String literal;
+        final String literal;
 
         StringLiteralPrinterParser(String literal) {
             this.literal = literal;  // validated by caller
@@ -2284,6 +2288,17 @@ public final class DateTimeFormatterBuilder {
             1000000000,
         };
 
+        /**
+         * Array of 10 to the power of n, for n from 0 to 18.
+         */
+        private static final long[] POWERS_OF_TEN = new long[19];
+        static {
+            POWERS_OF_TEN[0] = 1;
+            for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+                POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+            }
+        }
+
         final TemporalField field;
         final int minWidth;
         final int maxWidth;
@@ -2350,19 +2365,17 @@ public final class DateTimeFormatterBuilder {
 
         @Override
         public boolean print(DateTimePrintContext context, StringBuilder buf) {
-            Long valueLong = context.getValue(field);
-            if (valueLong == null) {
+            if (context.readValue(field) == false) {
                 return false;
             }
-            long value = getValue(context, valueLong);
+            long value = getValue(context, context.getReadValue());
             DecimalStyle symbols = context.getSymbols();
-            String str = (value == Long.MIN_VALUE ? "9223372036854775808" : Long.toString(Math.abs(value)));
-            if (str.length() > maxWidth) {
+            int length = (value == Long.MIN_VALUE ? 19 : digitCount(Math.abs(value)));
+            if (length > maxWidth) {
                 throw new DateTimeException("Field " + field +
                     " cannot be printed as the value " + value +
                     " exceeds the maximum print width of " + maxWidth);
             }
-            str = symbols.convertNumberToI18N(str);
 
             if (value >= 0) {
                 switch (signStyle) {
@@ -2388,13 +2401,48 @@ public final class DateTimeFormatterBuilder {
                             " cannot be negative according to the SignStyle");
                 }
             }
-            for (int i = 0; i < minWidth - str.length(); i++) {
-                buf.append(symbols.getZeroDigit());
+            char zeroDigit = symbols.getZeroDigit();
+            for (int i = 0; i < minWidth - length; i++) {
+                buf.append(zeroDigit);
             }
-            buf.append(str);
+            appendDigits(buf, value, length, zeroDigit);
             return true;
         }
 
+        /**
+         * Gets the number of decimal digits in a value.
+         *
+         * @param value  the value, zero or greater
+         * @return the number of digits, from 1 to 19
+         */
+        static int digitCount(long value) {
+            int count = 1;
+            while (count < 19 && value >= POWERS_OF_TEN[count]) {
+                count++;
+            }
+            return count;
+        }
+
+        /**
+         * Appends the digits of the absolute value, avoiding the creation of a string.
+         *
+         * @param buf  the buffer to append to, not null
+         * @param value  the value, the sign is ignored
+         * @param length  the number of digits in the value
+         * @param zeroDigit  the character to use for zero
+         */
+        static void appendDigits(StringBuilder buf, long value, int length, char zeroDigit) {
+            int pos = buf.length() + length;
+            buf.setLength(pos);
+            // negate positive values as the negative range is larger, handling Long.MIN_VALUE
+            long remaining = (value > 0 ? -value : value);
+            for (int i = 0; i < length; i++) {
+                long next = remaining / 10;
+                buf.setCharAt(--pos, (char) (zeroDigit + (next * 10 - remaining)));
+                remaining = next;
+            }
+        }
+
         /**
          * Gets the value to output.
          *
@@ -2658,10 +2706,31 @@ public final class DateTimeFormatterBuilder {
      * Prints and parses a numeric date-time field with optional padding.
      */
     static final class FractionPrinterParser implements DateTimePrinterParser {
-        private final TemporalField field;
-        private final int minWidth;
-        private final int maxWidth;
-        private final boolean decimalPoint;
+        /**
+         * Powers of ten, from 10^0 to 10^9.
+         */
+        private static final int[] POWERS_OF_TEN = new int[] {
+            1,
+            10,
+            100,
+            1000,
+            10000,
+            100000,
+            1000000,
+            10000000,
+            100000000,
+            1000000000,
+        };
+
+        final TemporalField field;
+        final int minWidth;
+        final int maxWidth;
+        final boolean decimalPoint;
+        /**
+         * The number of decimal digits in the field range if it runs from zero to
+         * a power of ten minus one, such as nano-of-second, zero otherwise.
+         */
+        private final int rangeDigits;
 
         /**
          * Constructor.
@@ -2690,6 +2759,24 @@ public final class DateTimeFormatterBuilder {
             this.minWidth = minWidth;
             this.maxWidth = maxWidth;
             this.decimalPoint = decimalPoint;
+            this.rangeDigits = rangeDigits(field.range());
+        }
+
+        /**
+         * Gets the number of decimal digits in the range if it is zero to a power of ten minus one.
+         *
+         * @param range  the range, not null
+         * @return the number of digits, from 1 to 9, or zero if the range is irregular
+         */
+        private static int rangeDigits(ValueRange range) {
+            if (range.getMinimum() == 0) {
+                for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+                    if (range.getMaximum() == POWERS_OF_TEN[i] - 1) {
+                        return i;
+                    }
+                }
+            }
+            return 0;
         }
 
         @Override
@@ -2699,6 +2786,10 @@ public final class DateTimeFormatterBuilder {
                 return false;
             }
             DecimalStyle symbols = context.getSymbols();
+            if (rangeDigits > 0) {
+                printDecimal(value, symbols, buf);
+                return true;
+            }
             BigDecimal fraction = convertToFraction(value);
             if (fraction.scale() == 0) {  // scale is zero if value is zero
                 if (minWidth > 0) {
@@ -2722,6 +2813,38 @@ public final class DateTimeFormatterBuilder {
             return true;
         }
 
+        /**
+         * Prints the fraction using integer arithmetic when the range is a power of ten.
+         * <p>
+         * The output is the same as that obtained via {@link #convertToFraction(long)}.
+         *
+         * @param value  the value to print
+         * @param symbols  the decimal style, not null
+         * @param buf  the buffer to append to, not null
+         */
+        private void printDecimal(long value, DecimalStyle symbols, StringBuilder buf) {
+            field.range().checkValidValue(value, field);
+            int nines = (int) value * POWERS_OF_TEN[9 - rangeDigits];  // fraction scaled to 9 digits
+            int scale = 9;
+            if (nines == 0) {
+                scale = 0;
+            } else {
+                while (nines % POWERS_OF_TEN[10 - scale] == 0) {
+                    scale--;
+                }
+            }
+            int outputScale = Math.min(Math.max(scale, minWidth), maxWidth);
+            if (outputScale > 0) {
+                if (decimalPoint) {
+                    buf.append(symbols.getDecimalSeparator());
+                }
+                char zero = symbols.getZeroDigit();
+                for (int i = 0; i < outputScale; i++) {
+                    buf.append((char) (zero + (nines / POWERS_OF_TEN[8 - i]) % 10));
+                }
+            }
+        }
+
         @Override
         public int parse(DateTimeParseContext context, CharSequence text, int position) {
             int effectiveMin = (context.isStrict() ? minWidth : 0);
@@ -2757,8 +2880,18 @@ public final class DateTimeFormatterBuilder {
                 }
                 total = total * 10 + digit;
             }
-            BigDecimal fraction = new BigDecimal(total).movePointLeft(pos - position);
-            long value = convertFromFraction(fraction);
+            int digits = pos - position;
+            long value;
+            if (rangeDigits > 0) {
+                if (digits <= rangeDigits) {
+                    value = (long) total * POWERS_OF_TEN[rangeDigits - digits];
+                } else {
+                    value = total / POWERS_OF_TEN[digits - rangeDigits];
+                }
+            } else {
+                BigDecimal fraction = new BigDecimal(total).movePointLeft(digits);
+                value = convertFromFraction(fraction);
+            }
             return context.setParsedField(field, value, position, pos);
         }
 
@@ -2825,7 +2958,7 @@ public final class DateTimeFormatterBuilder {
      * Prints or parses field text.
      */
     static final class TextPrinterParser implements DateTimePrinterParser {
-        private final TemporalField field;
+        final TemporalField field;
         private final TextStyle textStyle;
         private final DateTimeTextProvider provider;
         /**
@@ -3338,17 +3471,17 @@ public final class DateTimeFormatterBuilder {
      * Prints or parses a zone ID.
      */
     static final class ZoneTextPrinterParser implements DateTimePrinterParser {
-        /** The text style to output. */
-        private static final Comparator<String> LENGTH_COMPARATOR = new Comparator<String>() {
-            @Override
-            public int compare(String str1, String str2) {
-                int cmp = str2.length() - str1.length();
-                if (cmp == 0) {
-                    cmp = str1.compareTo(str2);
-                }
-                return cmp;
-            }
-        };
+        /**
+         * The cached trees of short zone names, keyed by locale.
+         */
+        private static final ConcurrentMap<Locale, Entry<Integer, ZoneNameTree>> CACHED_SHORT_TREES =
+                new ConcurrentHashMap<Locale, Entry<Integer, ZoneNameTree>>(16, 0.75f, 2);
+        /**
+         * The cached trees of full zone names, keyed by locale.
+         */
+        private static final ConcurrentMap<Locale, Entry<Integer, ZoneNameTree>> CACHED_FULL_TREES =
+                new ConcurrentHashMap<Locale, Entry<Integer, ZoneNameTree>>(16, 0.75f, 2);
+
         /** The text style to output. */
         private final TextStyle textStyle;
 
@@ -3380,32 +3513,232 @@ public final class DateTimeFormatterBuilder {
             return true;
         }
 
+        /**
+         * This implementation looks for the longest matching zone ID or zone name.
+         * <p>
+         * The names are held in a tree that is built once per locale and style,
+         * and only rebuilt if the set of available zone IDs changes.
+         * The tree is immutable and shared between all threads.
+         */
         @Override
         public int parse(DateTimeParseContext context, CharSequence text, int position) {
-            // this is a poor implementation that handles some but not all of the spec
-            // JDK8 has a lot of extra information here
-            Map<String, String> ids = new TreeMap<String, String>(LENGTH_COMPARATOR);
-            for (String id : ZoneId.getAvailableZoneIds()) {
-                ids.put(id, id);
-                TimeZone tz = TimeZone.getTimeZone(id);
-                int tzstyle = (textStyle.asNormal() == TextStyle.FULL ? TimeZone.LONG : TimeZone.SHORT);
-                ids.put(tz.getDisplayName(false, tzstyle, context.getLocale()), id);
-                ids.put(tz.getDisplayName(true, tzstyle, context.getLocale()), id);
-            }
-            for (Entry<String, String> entry : ids.entrySet()) {
-                String name = entry.getKey();
-                if (context.subSequenceEquals(text, position, name, 0, name.length())) {
-                    context.setParsed(ZoneId.of(entry.getValue()));
-                    return position + name.length();
-                }
+            ZoneNameTree tree = getTree(context.getLocale());
+            ZoneNameTree match = tree.match(text, position, context.isCaseSensitive());
+            if (match == null) {
+                return ~position;
             }
-            return ~position;
+            context.setParsed(ZoneId.of(match.zoneId));
+            return position + match.length;
+        }
+
+        /**
+         * Gets the tree of zone names for the locale, building it if necessary.
+         *
+         * @param locale  the locale, not null
+         * @return the tree, not null
+         */
+        private ZoneNameTree getTree(Locale locale) {
+            Set<String> regionIds = ZoneRulesProvider.getAvailableZoneIds();
+            final int regionIdsSize = regionIds.size();
+            int tzstyle = (textStyle.asNormal() == TextStyle.FULL ? TimeZone.LONG : TimeZone.SHORT);
+            ConcurrentMap<Locale, Entry<Integer, ZoneNameTree>> cache =
+                    (tzstyle == TimeZone.LONG ? CACHED_FULL_TREES : CACHED_SHORT_TREES);
+            Entry<Integer, ZoneNameTree> cached = cache.get(locale);
+            if (cached == null || cached.getKey() != regionIdsSize) {
+                cached = new SimpleImmutableEntry<Integer, ZoneNameTree>(
+                        regionIdsSize, ZoneNameTree.build(regionIds, tzstyle, locale));
+                cache.put(locale, cached);
+            }
+            return cached.getValue();
         }
 
         @Override
         public String toString() {
             return "ZoneText(" + textStyle + ")";
         }
+
+        //-----------------------------------------------------------------------
+        /**
+         * An immutable prefix tree of zone IDs and names used to find the longest match.
+         * <p>
+         * Each node holds a fragment of text, the full length of the text matched once
+         * the fragment has been matched, and the children sorted by their first character.
+         * Chains of nodes with a single child are collapsed into one node, which keeps
+         * the tree small given that many names share long prefixes, such as
+         * "America/" or "Central European ".
+         */
+        private static final class ZoneNameTree {
+            /**
+             * The fragment of text matched by this node.
+             */
+            private final String key;
+            /**
+             * The length of the text matched from the root to the end of this node.
+             */
+            final int length;
+            /**
+             * The zone ID for the text ending at this node, null if none.
+             */
+            final String zoneId;
+            /**
+             * The first character of each child, sorted.
+             */
+            private final char[] childChars;
+            /**
+             * The children, in the same order as the characters.
+             */
+            private final ZoneNameTree[] children;
+
+            private ZoneNameTree(String key, int length, String zoneId, char[] childChars, ZoneNameTree[] children) {
+                this.key = key;
+                this.length = length;
+                this.zoneId = zoneId;
+                this.childChars = childChars;
+                this.children = children;
+            }
+
+            /**
+             * Builds the tree for the specified zone IDs, style and locale.
+             *
+             * @param regionIds  the zone IDs, not null
+             * @param tzstyle  the {@code TimeZone} style
+             * @param locale  the locale, not null
+             * @return the tree, not null
+             */
+            static ZoneNameTree build(Set<String> regionIds, int tzstyle, Locale locale) {
+                // sorted so that the result is independent of the iteration order of the set
+                // where the same name is used by multiple zones, the first zone ID wins
+                Map<String, String> names = new TreeMap<String, String>();
+                for (String id : new TreeSet<String>(regionIds)) {
+                    addName(names, id, id);
+                    TimeZone tz = TimeZone.getTimeZone(id);
+                    addName(names, tz.getDisplayName(false, tzstyle, locale), id);
+                    addName(names, tz.getDisplayName(true, tzstyle, locale), id);
+                }
+                String[] keys = names.keySet().toArray(new String[names.size()]);
+                String[] ids = names.values().toArray(new String[names.size()]);
+                if (keys.length == 0) {
+                    return new ZoneNameTree("", 0, null, new char[0], new ZoneNameTree[0]);
+                }
+                return build(keys, ids, 0, keys.length, 0);
+            }
+
+            private static void addName(Map<String, String> names, String name, String id) {
+                if (name != null && name.length() > 0 && names.containsKey(name) == false) {
+                    names.put(name, id);
+                }
+            }
+
+            /**
+             * Builds a node from a range of sorted names sharing a common prefix.
+             *
+             * @param names  the sorted names, not null
+             * @param ids  the zone IDs matching the names, not null
+             * @param from  the first name to include, inclusive
+             * @param to  the last name to include, exclusive
+             * @param start  the length of the prefix already matched by the parent
+             * @return the node, not null
+             */
+            private static ZoneNameTree build(String[] names, String[] ids, int from, int to, int start) {
+                // the names are sorted, so the common prefix of the range is that of the first and last
+                String first = names[from];
+                String last = names[to - 1];
+                int end = start;
+                int max = Math.min(first.length(), last.length());
+                while (end < max && first.charAt(end) == last.charAt(end)) {
+                    end++;
+                }
+                String zoneId = null;
+                int index = from;
+                if (first.length() == end) {
+                    zoneId = ids[index++];
+                }
+                List<ZoneNameTree> childList = new ArrayList<ZoneNameTree>();
+                while (index < to) {
+                    char ch = names[index].charAt(end);
+                    int childEnd = index + 1;
+                    while (childEnd < to && names[childEnd].charAt(end) == ch) {
+                        childEnd++;
+                    }
+                    childList.add(build(names, ids, index, childEnd, end));
+                    index = childEnd;
+                }
+                char[] childChars = new char[childList.size()];
+                for (int i = 0; i < childChars.length; i++) {
+                    childChars[i] = childList.get(i).key.charAt(0);
+                }
+                ZoneNameTree[] children = childList.toArray(new ZoneNameTree[childList.size()]);
+                return new ZoneNameTree(first.substring(start, end), end, zoneId, childChars, children);
+            }
+
+            /**
+             * Finds the longest zone ID or name matching the text at the position.
+             * <p>
+             * When parsing case insensitively, and more than one name of the
+             * longest length matches, the first name in sort order is used.
+             *
+             * @param text  the text to match, not null
+             * @param position  the position to start matching at
+             * @param caseSensitive  whether to match case sensitively
+             * @return the node ending the longest match, null if no match
+             */
+            ZoneNameTree match(CharSequence text, int position, boolean caseSensitive) {
+                if (caseSensitive == false) {
+                    return matchIgnoreCase(text, position, null);
+                }
+                ZoneNameTree best = null;
+                ZoneNameTree node = this;
+                int pos = position;
+                while (true) {
+                    int keyLength = node.key.length();
+                    if (pos + keyLength > text.length()) {
+                        return best;
+                    }
+                    for (int i = 0; i < keyLength; i++) {
+                        if (text.charAt(pos + i) != node.key.charAt(i)) {
+                            return best;
+                        }
+                    }
+                    pos += keyLength;
+                    if (node.zoneId != null) {
+                        best = node;
+                    }
+                    if (pos == text.length()) {
+                        return best;
+                    }
+                    int index = Arrays.binarySearch(node.childChars, text.charAt(pos));
+                    if (index < 0) {
+                        return best;
+                    }
+                    node = node.children[index];
+                }
+            }
+
+            private ZoneNameTree matchIgnoreCase(CharSequence text, int position, ZoneNameTree best) {
+                int keyLength = key.length();
+                if (position + keyLength > text.length()) {
+                    return best;
+                }
+                for (int i = 0; i < keyLength; i++) {
+                    if (DateTimeParseContext.charEqualsIgnoreCase(text.charAt(position + i), key.charAt(i)) == false) {
+                        return best;
+                    }
+                }
+                int pos = position + keyLength;
+                if (zoneId != null && (best == null || length > best.length)) {
+                    best = this;
+                }
+                if (pos < text.length()) {
+                    char ch = text.charAt(pos);
+                    for (int i = 0; i < children.length; i++) {
+                        if (DateTimeParseContext.charEqualsIgnoreCase(ch, childChars[i])) {
+                            best = children[i].matchIgnoreCase(text, pos, best);
+                        }
+                    }
+                }
+                return best;
+            }
+        }
     }
 
     //-----------------------------------------------------------------------
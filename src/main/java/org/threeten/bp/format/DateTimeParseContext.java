@@ -32,10 +32,8 @@
 package org.threeten.bp.format;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 import org.threeten.bp.Period;
 import org.threeten.bp.ZoneId;
@@ -342,8 +340,8 @@ final class DateTimeParseContext {
      */
     int setParsedField(TemporalField field, long value, int errorPos, int successPos) {
         Jdk8Methods.requireNonNull(field, "field");
-        Long old = currentParsed().fieldValues.put(field, value);
-        return (old != null && old.longValue() != value) ? ~errorPos : successPos;
+        boolean conflict = currentParsed().fieldValues.putValue(field, value);
+        return conflict ? ~errorPos : successPos;
     }
 
     /**
@@ -425,7 +423,7 @@ final class DateTimeParseContext {
     final class Parsed extends DefaultInterfaceTemporalAccessor {
         Chronology chrono = null;
         ZoneId zone = null;
-        final Map<TemporalField, Long> fieldValues = new HashMap<TemporalField, Long>();
+        final FieldValueMap fieldValues = new FieldValueMap();
         boolean leapSecond;
         Period excessDays = Period.ZERO;
         List<Object[]> callbacks;
@@ -446,22 +444,22 @@ final class DateTimeParseContext {
         }
         @Override
         public boolean isSupported(TemporalField field) {
-            return fieldValues.containsKey(field);
+            return fieldValues.containsField(field);
         }
         @Override
         public int get(TemporalField field) {
-            if (fieldValues.containsKey(field) == false) {
+            if (fieldValues.containsField(field) == false) {
                 throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
             }
-            long value = fieldValues.get(field);
+            long value = fieldValues.getValue(field);
             return Jdk8Methods.safeToInt(value);
         }
         @Override
         public long getLong(TemporalField field) {
-            if (fieldValues.containsKey(field) == false) {
+            if (fieldValues.containsField(field) == false) {
                 throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
             }
-            return fieldValues.get(field);
+            return fieldValues.getValue(field);
         }
         @SuppressWarnings("unchecked")
         @Override
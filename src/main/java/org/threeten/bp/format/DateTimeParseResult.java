@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.text.ParsePosition;
+
+import org.threeten.bp.DateTimeException;
+import org.threeten.bp.temporal.TemporalAccessor;
+import org.threeten.bp.temporal.TemporalQuery;
+
+/**
+ * The result of a parse that reports errors without throwing an exception.
+ * <p>
+ * This is used by {@link DateTimeFormatter#tryParse(CharSequence, DateTimeParseResult)}.
+ * Creating and throwing a {@link DateTimeParseException} for each invalid input is
+ * expensive, which matters when processing large volumes of data that contain
+ * a proportion of invalid values.
+ * Instead, the result is written to this object, which can be reused for many parses.
+ * <p>
+ * After a parse, {@link #isSuccess()} indicates whether the text was successfully
+ * parsed and resolved. If it was, the result is available from {@link #getParsed()}
+ * and {@link #query(TemporalQuery)}. If not, the error index is available from
+ * {@link #getErrorIndex()} and an exception describing the error can be created
+ * on demand using {@link #toException()}.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is mutable and intended for use in a single thread.
+ */
+public final class DateTimeParseResult {
+
+    /**
+     * The position, reused between parses.
+     */
+    final ParsePosition position = new ParsePosition(0);
+    /**
+     * The text that was parsed, null if nothing parsed yet.
+     */
+    private CharSequence text;
+    /**
+     * The resolved result, null if the parse failed.
+     */
+    private TemporalAccessor parsed;
+    /**
+     * The exception thrown during resolving, null if none.
+     */
+    private RuntimeException cause;
+
+    /**
+     * Creates an instance ready to be passed to
+     * {@link DateTimeFormatter#tryParse(CharSequence, DateTimeParseResult)}.
+     */
+    public DateTimeParseResult() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Resets the result before a parse.
+     *
+     * @param text  the text being parsed, not null
+     */
+    void reset(CharSequence text) {
+        this.text = text;
+        this.parsed = null;
+        this.cause = null;
+        position.setIndex(0);
+        position.setErrorIndex(-1);
+    }
+
+    /**
+     * Records a successful parse.
+     *
+     * @param parsed  the resolved result, not null
+     */
+    void setParsed(TemporalAccessor parsed) {
+        this.parsed = parsed;
+    }
+
+    /**
+     * Records a failure during resolving.
+     *
+     * @param cause  the exception thrown, not null
+     */
+    void setCause(RuntimeException cause) {
+        this.cause = cause;
+        position.setErrorIndex(0);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if the last parse was successful.
+     *
+     * @return true if the text was fully parsed and resolved
+     */
+    public boolean isSuccess() {
+        return parsed != null;
+    }
+
+    /**
+     * Gets the index of the error in the last parse.
+     * <p>
+     * If the text could not be parsed, this is the index that was invalid.
+     * If unparsed text was found after the end of the pattern, this is the
+     * index of the unparsed text. If the parsed fields could not be resolved,
+     * this is zero.
+     *
+     * @return the error index, -1 if the parse was successful
+     */
+    public int getErrorIndex() {
+        return parsed != null ? -1 : position.getErrorIndex();
+    }
+
+    /**
+     * Gets the resolved result of the last parse.
+     *
+     * @return the resolved temporal object, null if the parse failed
+     */
+    public TemporalAccessor getParsed() {
+        return parsed;
+    }
+
+    /**
+     * Queries the resolved result of the last parse.
+     * <p>
+     * This is typically used to obtain the desired type, such as {@code LocalDate.FROM}.
+     *
+     * @param <R> the type of the result
+     * @param query  the query to invoke, not null
+     * @return the query result, null may be returned (defined by the query)
+     * @throws DateTimeException if the parse failed or the query is unable to extract the type
+     */
+    public <R> R query(TemporalQuery<R> query) {
+        if (parsed == null) {
+            throw toException();
+        }
+        return parsed.query(query);
+    }
+
+    /**
+     * Creates the exception that the equivalent throwing parse method would have thrown.
+     * <p>
+     * The message is only built when this method is called.
+     *
+     * @return the exception describing the error, not null
+     * @throws IllegalStateException if the last parse was successful or no parse has occurred
+     */
+    public DateTimeParseException toException() {
+        if (parsed != null || text == null) {
+            throw new IllegalStateException("No parse error to describe");
+        }
+        String abbr = text.length() > 64 ? text.subSequence(0, 64).toString() + "..." : text.toString();
+        if (cause != null) {
+            return new DateTimeParseException("Text '" + abbr + "' could not be parsed: " + cause.getMessage(), text, 0, cause);
+        }
+        int errorIndex = position.getErrorIndex();
+        if (errorIndex == position.getIndex() && errorIndex > 0) {
+            return new DateTimeParseException("Text '" + abbr + "' could not be parsed, unparsed text found at index " +
+                    errorIndex, text, errorIndex);
+        }
+        return new DateTimeParseException("Text '" + abbr + "' could not be parsed at index " + errorIndex, text, errorIndex);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs the result as a {@code String}.
+     *
+     * @return a description of the result, not null
+     */
+    @Override
+    public String toString() {
+        return parsed != null ? "Parsed " + parsed : "Failed at index " + getErrorIndex();
+    }
+
+}
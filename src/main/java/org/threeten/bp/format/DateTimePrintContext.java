@@ -80,6 +80,10 @@ final class DateTimePrintContext {
      * Whether the current formatter is optional.
      */
     private int optional;
+    /**
+     * The value most recently read by {@link #readValue(TemporalField)}.
+     */
+    private long value;
 
     /**
      * Creates a new instance of the context.
@@ -280,6 +284,37 @@ final class DateTimePrintContext {
         }
     }
 
+    /**
+     * Reads the value of the specified field without boxing.
+     * <p>
+     * This behaves as {@link #getValue(TemporalField)}, except that the value
+     * is stored in this context and obtained using {@link #getReadValue()}.
+     *
+     * @param field  the field to find, not null
+     * @return true if the value was read, false if not found and optional is true
+     * @throws DateTimeException if the field is not available and the section is not optional
+     */
+    boolean readValue(TemporalField field) {
+        try {
+            value = temporal.getLong(field);
+            return true;
+        } catch (DateTimeException ex) {
+            if (optional > 0) {
+                return false;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Gets the value most recently read by {@link #readValue(TemporalField)}.
+     *
+     * @return the value
+     */
+    long getReadValue() {
+        return value;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Returns a string version of the context for debugging.
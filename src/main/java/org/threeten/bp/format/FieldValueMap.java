@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.TemporalField;
+
+/**
+ * A map of field to value used during parsing and resolving.
+ * <p>
+ * The values of {@link ChronoField} are stored unboxed in an array indexed by ordinal,
+ * with a bit mask indicating which are present.
+ * Other fields are stored in a standard map, which is only created if necessary.
+ * This makes copying cheap and avoids boxing for the common case.
+ * <p>
+ * The primitive methods should be used where possible, however the full {@code Map}
+ * interface is available for compatibility with methods such as
+ * {@link TemporalField#resolve(Map, org.threeten.bp.temporal.TemporalAccessor, ResolverStyle)}.
+ * Iteration returns the {@code ChronoField} entries in ordinal order, then the other entries.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is mutable and not thread-safe.
+ * It should only be used from a single thread.
+ */
+final class FieldValueMap extends AbstractMap<TemporalField, Long> {
+
+    /**
+     * The chrono fields, indexed by ordinal.
+     */
+    private static final ChronoField[] CHRONO_FIELDS = ChronoField.values();
+    static {
+        if (CHRONO_FIELDS.length > 64) {
+            throw new IllegalStateException("Too many fields for mask");
+        }
+    }
+
+    /**
+     * The values of the chrono fields, indexed by ordinal.
+     */
+    private final long[] values = new long[CHRONO_FIELDS.length];
+    /**
+     * The mask of chrono fields that are present, by ordinal.
+     */
+    private long present;
+    /**
+     * The values of other fields, null if none have been added.
+     */
+    private Map<TemporalField, Long> others;
+    /**
+     * The entry set, created on demand.
+     */
+    private Set<Entry<TemporalField, Long>> entrySet;
+
+    /**
+     * Creates an empty instance.
+     */
+    FieldValueMap() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if the field is present, without boxing.
+     *
+     * @param field  the field to check, not null
+     * @return true if present
+     */
+    boolean containsField(TemporalField field) {
+        if (field instanceof ChronoField) {
+            return (present & bit((ChronoField) field)) != 0;
+        }
+        return others != null && others.containsKey(field);
+    }
+
+    /**
+     * Gets the value of a field that is present, without boxing.
+     *
+     * @param field  the field to get, not null
+     * @return the value
+     * @throws NullPointerException if the field is not a {@code ChronoField} and is not present
+     */
+    long getValue(TemporalField field) {
+        if (field instanceof ChronoField) {
+            return values[((ChronoField) field).ordinal()];
+        }
+        return others.get(field);
+    }
+
+    /**
+     * Sets the value of a field, without boxing if it is a {@code ChronoField}.
+     *
+     * @param field  the field to set, not null
+     * @param value  the value
+     * @return true if the field was already present with a different value
+     */
+    boolean putValue(TemporalField field, long value) {
+        if (field instanceof ChronoField) {
+            int ordinal = ((ChronoField) field).ordinal();
+            long mask = 1L << ordinal;
+            boolean conflict = (present & mask) != 0 && values[ordinal] != value;
+            values[ordinal] = value;
+            present |= mask;
+            return conflict;
+        }
+        Long old = others().put(field, value);
+        return old != null && old.longValue() != value;
+    }
+
+    /**
+     * Removes the value of a field that is present, without boxing.
+     * <p>
+     * A {@code ChronoField} that is not present may also be passed,
+     * in which case the map is unchanged and the value returned is meaningless.
+     *
+     * @param field  the field to remove, not null
+     * @return the value that was removed
+     * @throws NullPointerException if the field is not a {@code ChronoField} and is not present
+     */
+    long removeValue(TemporalField field) {
+        if (field instanceof ChronoField) {
+            present &= ~bit((ChronoField) field);
+            return values[((ChronoField) field).ordinal()];
+        }
+        return others.remove(field);
+    }
+
+    /**
+     * Adds all the values from another map, copying the arrays directly.
+     *
+     * @param other  the map to copy from, not null
+     */
+    void putAll(FieldValueMap other) {
+        if (present == 0 && others == null) {
+            System.arraycopy(other.values, 0, values, 0, values.length);
+            present = other.present;
+        } else {
+            long mask = other.present;
+            while (mask != 0) {
+                int ordinal = Long.numberOfTrailingZeros(mask);
+                values[ordinal] = other.values[ordinal];
+                mask &= mask - 1;
+            }
+            present |= other.present;
+        }
+        if (other.others != null && other.others.isEmpty() == false) {
+            others().putAll(other.others);
+        }
+    }
+
+    private Map<TemporalField, Long> others() {
+        if (others == null) {
+            others = new HashMap<TemporalField, Long>();
+        }
+        return others;
+    }
+
+    private static long bit(ChronoField field) {
+        return 1L << field.ordinal();
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public int size() {
+        return Long.bitCount(present) + (others != null ? others.size() : 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return present == 0 && (others == null || others.isEmpty());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (key instanceof ChronoField) {
+            return (present & bit((ChronoField) key)) != 0;
+        }
+        return others != null && others.containsKey(key);
+    }
+
+    @Override
+    public Long get(Object key) {
+        if (key instanceof ChronoField) {
+            ChronoField field = (ChronoField) key;
+            return (present & bit(field)) != 0 ? values[field.ordinal()] : null;
+        }
+        return others != null ? others.get(key) : null;
+    }
+
+    @Override
+    public Long put(TemporalField key, Long value) {
+        Jdk8Methods.requireNonNull(key, "key");
+        Jdk8Methods.requireNonNull(value, "value");
+        if (key instanceof ChronoField) {
+            Long old = get(key);
+            values[((ChronoField) key).ordinal()] = value;
+            present |= bit((ChronoField) key);
+            return old;
+        }
+        return others().put(key, value);
+    }
+
+    @Override
+    public Long remove(Object key) {
+        if (key instanceof ChronoField) {
+            Long old = get(key);
+            present &= ~bit((ChronoField) key);
+            return old;
+        }
+        return others != null ? others.remove(key) : null;
+    }
+
+    @Override
+    public void clear() {
+        present = 0;
+        if (others != null) {
+            others.clear();
+        }
+    }
+
+    @Override
+    public Set<Entry<TemporalField, Long>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<TemporalField, Long>>() {
+                @Override
+                public Iterator<Entry<TemporalField, Long>> iterator() {
+                    return new EntryIterator();
+                }
+                @Override
+                public int size() {
+                    return FieldValueMap.this.size();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Iterator over the entries.
+     * <p>
+     * The chrono fields are found by scanning the mask from the last ordinal returned,
+     * thus changes to the map by the caller between calls do not cause failure.
+     */
+    private final class EntryIterator implements Iterator<Entry<TemporalField, Long>> {
+        /** The next ordinal to check. */
+        private int nextOrdinal;
+        /** The iterator over the other fields, null until the chrono fields are complete. */
+        private Iterator<Entry<TemporalField, Long>> othersIterator;
+        /** The last chrono field returned, null if none, removed or the last entry was another field. */
+        private ChronoField lastField;
+        /** Whether the last entry returned was another field. */
+        private boolean lastOther;
+
+        @Override
+        public boolean hasNext() {
+            if (othersIterator == null) {
+                long remaining = (nextOrdinal < 64 ? present & (-1L << nextOrdinal) : 0);
+                if (remaining != 0) {
+                    return true;
+                }
+                othersIterator = (others != null ? others.entrySet().iterator() : null);
+                if (othersIterator == null) {
+                    return false;
+                }
+            }
+            return othersIterator.hasNext();
+        }
+
+        @Override
+        public Entry<TemporalField, Long> next() {
+            if (hasNext() == false) {
+                throw new NoSuchElementException();
+            }
+            if (othersIterator != null) {
+                Entry<TemporalField, Long> entry = othersIterator.next();
+                lastField = null;
+                lastOther = true;
+                return entry;
+            }
+            int ordinal = Long.numberOfTrailingZeros(present & (-1L << nextOrdinal));
+            nextOrdinal = ordinal + 1;
+            lastField = CHRONO_FIELDS[ordinal];
+            return new FieldEntry(lastField);
+        }
+
+        @Override
+        public void remove() {
+            if (lastOther) {
+                othersIterator.remove();
+                lastOther = false;
+                return;
+            }
+            if (lastField == null) {
+                throw new IllegalStateException();
+            }
+            present &= ~bit(lastField);
+            lastField = null;
+        }
+    }
+
+    /**
+     * An entry for a chrono field, reading and writing through to the map.
+     */
+    private final class FieldEntry implements Entry<TemporalField, Long> {
+        /** The field. */
+        private final ChronoField field;
+
+        FieldEntry(ChronoField field) {
+            this.field = field;
+        }
+
+        @Override
+        public TemporalField getKey() {
+            return field;
+        }
+
+        @Override
+        public Long getValue() {
+            return values[field.ordinal()];
+        }
+
+        @Override
+        public Long setValue(Long value) {
+            return put(field, value);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Entry) {
+                Entry<?, ?> other = (Entry<?, ?>) obj;
+                return field.equals(other.getKey()) && getValue().equals(other.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return field.hashCode() ^ getValue().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return field + "=" + getValue();
+        }
+    }
+
+}
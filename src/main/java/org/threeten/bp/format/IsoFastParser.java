@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.LocalTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.chrono.IsoChronology;
+
+/**
+ * Fast parser for the common fixed-width layouts of the ISO-8601 formatters.
+ * <p>
+ * This recognizes text such as '2011-12-03T10:15:30.123Z' using simple character
+ * arithmetic, avoiding the general parsing and resolving engine.
+ * Only the regular layout is handled - a four digit year, two digit fields,
+ * an optional fraction of one to nine digits and an offset of 'Z' or '+HH:MM'.
+ * If the text has any other form, or any field is out of range, null is returned
+ * and the caller must use the general engine, which handles the remaining cases
+ * and produces the error message.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is immutable and thread-safe.
+ */
+final class IsoFastParser {
+
+    /**
+     * The number of nanoseconds per unit of each fraction length, indexed by length.
+     */
+    private static final int[] FRACTION_SCALE = {
+        0, 100000000, 10000000, 1000000, 100000, 10000, 1000, 100, 10, 1,
+    };
+
+    /**
+     * Restricted constructor.
+     */
+    private IsoFastParser() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Parses text in the form '2011-12-03T10:15:30'.
+     *
+     * @param text  the text to parse, not null
+     * @return the date-time, null if the general engine must be used
+     */
+    static LocalDateTime parseLocalDateTime(CharSequence text) {
+        int len = text.length();
+        LocalDate date = parseDate(text, len);
+        if (date == null) {
+            return null;
+        }
+        long nod = parseTime(text, 11, len, false);
+        if (nod < 0) {
+            return null;
+        }
+        return LocalDateTime.of(date, LocalTime.ofNanoOfDay(nod));
+    }
+
+    /**
+     * Parses text in the form '2011-12-03T10:15:30+01:00'.
+     *
+     * @param text  the text to parse, not null
+     * @return the date-time, null if the general engine must be used
+     */
+    static OffsetDateTime parseOffsetDateTime(CharSequence text) {
+        int len = text.length();
+        LocalDate date = parseDate(text, len);
+        if (date == null) {
+            return null;
+        }
+        int end = len - 1;
+        ZoneOffset offset = ZoneOffset.UTC;
+        char last = text.charAt(end);
+        if (last != 'Z' && last != 'z') {
+            end = len - 6;
+            if (end < 16) {
+                return null;
+            }
+            char sign = text.charAt(end);
+            int hours = parse2(text, end + 1);
+            int minutes = parse2(text, end + 4);
+            if ((sign != '+' && sign != '-') || text.charAt(end + 3) != ':' ||
+                    hours < 0 || hours > 18 || minutes < 0 || minutes > 59 || (hours == 18 && minutes > 0)) {
+                return null;
+            }
+            int totalSecs = hours * 3600 + minutes * 60;
+            offset = ZoneOffset.ofTotalSeconds(sign == '-' ? -totalSecs : totalSecs);
+        }
+        long nod = parseTime(text, 11, end, false);
+        if (nod < 0) {
+            return null;
+        }
+        return OffsetDateTime.of(LocalDateTime.of(date, LocalTime.ofNanoOfDay(nod)), offset);
+    }
+
+    /**
+     * Parses text in the form '2011-12-03T10:15:30Z'.
+     *
+     * @param text  the text to parse, not null
+     * @return the instant, null if the general engine must be used
+     */
+    static Instant parseInstant(CharSequence text) {
+        int len = text.length();
+        LocalDate date = parseDate(text, len);
+        if (date == null) {
+            return null;
+        }
+        char last = text.charAt(len - 1);
+        if (last != 'Z' && last != 'z') {
+            return null;
+        }
+        long nod = parseTime(text, 11, len - 1, true);
+        if (nod < 0) {
+            return null;
+        }
+        return Instant.ofEpochSecond(date.toEpochDay() * 86400L + nod / 1000000000L, nod % 1000000000L);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Parses the date and the 'T' separator at the start of the text.
+     *
+     * @param text  the text to parse, not null
+     * @param len  the length of the text
+     * @return the date, null if not a regular valid date followed by 'T'
+     */
+    private static LocalDate parseDate(CharSequence text, int len) {
+        if (len < 16 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return null;
+        }
+        char sep = text.charAt(10);
+        if (sep != 'T' && sep != 't') {
+            return null;
+        }
+        int yearHi = parse2(text, 0);
+        int yearLo = parse2(text, 2);
+        int month = parse2(text, 5);
+        int day = parse2(text, 8);
+        if (yearHi < 0 || yearLo < 0 || month < 1 || month > 12 || day < 1) {
+            return null;
+        }
+        int year = yearHi * 100 + yearLo;
+        if (day > 28 && day > lengthOfMonth(year, month)) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Parses a time that exactly occupies the specified range of the text.
+     *
+     * @param text  the text to parse, not null
+     * @param start  the start index
+     * @param end  the end index, exclusive
+     * @param secondsRequired  whether the seconds must be present
+     * @return the nano-of-day, negative if not a regular valid time
+     */
+    private static long parseTime(CharSequence text, int start, int end, boolean secondsRequired) {
+        int length = end - start;
+        if (length < 5 || text.charAt(start + 2) != ':') {
+            return -1;
+        }
+        int hour = parse2(text, start);
+        int minute = parse2(text, start + 3);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return -1;
+        }
+        long secs = hour * 3600 + minute * 60;
+        if (length == 5) {
+            return secondsRequired ? -1 : secs * 1000000000L;
+        }
+        if (length < 8 || text.charAt(start + 5) != ':') {
+            return -1;
+        }
+        int second = parse2(text, start + 6);
+        if (second < 0 || second > 59) {
+            return -1;
+        }
+        secs += second;
+        if (length == 8) {
+            return secs * 1000000000L;
+        }
+        int digits = length - 9;
+        if (digits < 1 || digits > 9 || text.charAt(start + 8) != '.') {
+            return -1;
+        }
+        int fraction = 0;
+        for (int i = start + 9; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            fraction = fraction * 10 + digit;
+        }
+        return secs * 1000000000L + fraction * FRACTION_SCALE[digits];
+    }
+
+    /**
+     * Parses two ASCII digits.
+     *
+     * @param text  the text to parse, not null
+     * @param pos  the position of the first digit
+     * @return the value, negative if not two digits
+     */
+    private static int parse2(CharSequence text, int pos) {
+        int tens = text.charAt(pos) - '0';
+        int ones = text.charAt(pos + 1) - '0';
+        if (tens < 0 || tens > 9 || ones < 0 || ones > 9) {
+            return -1;
+        }
+        return tens * 10 + ones;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (IsoChronology.INSTANCE.isLeapYear(year) ? 29 : 28);
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.threeten.bp.jdk8.StripedCounter;
+
+/**
+ * A size-bounded cache of formatters created from patterns.
+ * <p>
+ * Formatters are keyed by the pattern and locale.
+ * When the cache exceeds its maximum size, the least recently used entries are evicted
+ * in a batch of about an eighth of the maximum size, by one thread at a time.
+ * The recency of use is tracked by a counter advanced on each miss, with a hit
+ * stamping the entry with the current count. Eviction is thus approximate,
+ * but a hit performs no atomic updates and lookups never block.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is thread-safe.
+ */
+final class PatternCache {
+
+    /**
+     * The maximum number of entries.
+     */
+    private final int maxSize;
+    /**
+     * The cached formatters.
+     */
+    private final ConcurrentMap<Key, Entry> cache;
+    /**
+     * The counter used to track recency of use, advanced on each miss.
+     */
+    private final AtomicLong clock = new AtomicLong();
+    /**
+     * The lock held by the thread evicting entries.
+     */
+    private final ReentrantLock evictLock = new ReentrantLock();
+    /**
+     * The number of hits.
+     */
+    private final StripedCounter hits = new StripedCounter();
+    /**
+     * The number of misses.
+     */
+    private final StripedCounter misses = new StripedCounter();
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxSize  the maximum number of entries, one or greater
+     */
+    PatternCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.cache = new ConcurrentHashMap<Key, Entry>(Math.min(maxSize, 64) * 2, 0.75f, 4);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the formatter for the pattern and locale, creating and caching it if necessary.
+     *
+     * @param pattern  the pattern, not null
+     * @param locale  the locale, not null
+     * @return the formatter, not null
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    DateTimeFormatter get(String pattern, Locale locale) {
+        Key key = new Key(pattern, locale);
+        Entry entry = cache.get(key);
+        if (entry != null) {
+            long now = clock.get();
+            if (entry.lastUsed != now) {
+                entry.lastUsed = now;
+            }
+            hits.increment();
+            return entry.formatter;
+        }
+        misses.increment();
+        DateTimeFormatter formatter = new DateTimeFormatterBuilder().appendPattern(pattern).toFormatter(locale);
+        entry = new Entry(formatter, clock.getAndIncrement());
+        Entry existing = cache.putIfAbsent(key, entry);
+        if (existing != null) {
+            return existing.formatter;
+        }
+        if (cache.size() > maxSize && evictLock.tryLock()) {
+            try {
+                evict();
+            } finally {
+                evictLock.unlock();
+            }
+        }
+        return formatter;
+    }
+
+    /**
+     * Evicts the least recently used entries until the cache is below its maximum size.
+     * <p>
+     * Each scan removes enough entries to leave room for about an eighth of the
+     * maximum size, so the cost of the scan is spread over many misses.
+     */
+    private void evict() {
+        int target = maxSize - (maxSize >>> 3);
+        while (cache.size() > maxSize) {
+            long[] stamps = new long[cache.size()];
+            int count = 0;
+            for (Entry entry : cache.values()) {
+                if (count == stamps.length) {
+                    break;
+                }
+                stamps[count++] = entry.lastUsed;
+            }
+            int excess = count - target;
+            if (excess <= 0) {
+                return;
+            }
+            Arrays.sort(stamps, 0, count);
+            long cutoff = stamps[excess - 1];
+            for (Map.Entry<Key, Entry> mapEntry : cache.entrySet()) {
+                if (excess == 0) {
+                    break;
+                }
+                if (mapEntry.getValue().lastUsed <= cutoff && cache.remove(mapEntry.getKey(), mapEntry.getValue())) {
+                    excess--;
+                }
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the maximum number of entries.
+     *
+     * @return the maximum size
+     */
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return the size
+     */
+    int size() {
+        return cache.size();
+    }
+
+    /**
+     * Gets the number of lookups that found a cached formatter.
+     *
+     * @return the hit count
+     */
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that created a formatter.
+     *
+     * @return the miss count
+     */
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The cache key.
+     */
+    private static final class Key {
+        private final String pattern;
+        private final Locale locale;
+
+        Key(String pattern, Locale locale) {
+            this.pattern = pattern;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Key) {
+                Key other = (Key) obj;
+                return pattern.equals(other.pattern) && locale.equals(other.locale);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return pattern.hashCode() ^ locale.hashCode();
+        }
+    }
+
+    /**
+     * The cache entry.
+     */
+    private static final class Entry {
+        private final DateTimeFormatter formatter;
+        private volatile long lastUsed;
+
+        Entry(DateTimeFormatter formatter, long lastUsed) {
+            this.formatter = formatter;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.jdk8;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter that may be incremented by many threads with little contention.
+ * <p>
+ * This class replaces the counting functionality of {@code LongAdder} available in JDK 8.
+ * Increments are spread over a number of cells selected by the current thread,
+ * with each cell on its own cache line, and the cells are summed when read.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is thread-safe.
+ */
+public final class StripedCounter {
+
+    /**
+     * The number of cells, a power of two.
+     */
+    private static final int CELLS = 16;
+    /**
+     * The spacing between cells, so that each cell is on a separate 64 byte cache line.
+     */
+    private static final int SPACING = 8;
+
+    /**
+     * The cells.
+     */
+    private final AtomicLongArray cells = new AtomicLongArray(CELLS * SPACING);
+
+    /**
+     * Constructs a counter with a value of zero.
+     */
+    public StripedCounter() {
+    }
+
+    /**
+     * Increments the counter.
+     */
+    public void increment() {
+        int hash = System.identityHashCode(Thread.currentThread());
+        hash ^= hash >>> 16;
+        cells.incrementAndGet((hash & (CELLS - 1)) * SPACING);
+    }
+
+    /**
+     * Gets the sum of all increments.
+     * <p>
+     * The sum is not an atomic snapshot if the counter is incremented concurrently.
+     *
+     * @return the sum
+     */
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < CELLS; i++) {
+            sum += cells.get(i * SPACING);
+        }
+        return sum;
+    }
+
+    /**
+     * Outputs the sum as a string.
+     *
+     * @return the sum as a string, not null
+     */
+    @Override
+    public String toString() {
+        return Long.toString(sum());
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.jdk8;
+
+/**
+ * The number of times that the time-zone rules have been refreshed.
+ * <p>
+ * This internal class allows {@code ZoneRulesProvider.refresh()} to signal
+ * caches of data derived from the rules in other packages, such as the cache of
+ * region-based zone IDs, without adding public API to the provider.
+ * Do NOT use this class directly.
+ *
+ * <h3>Specification for implementors</h3>
+ * This is a thread-safe utility class.
+ */
+public final class ZoneRulesRefreshCount {
+
+    /**
+     * The number of refreshes that changed, or may have changed, the rules.
+     */
+    private static volatile long count;
+
+    /**
+     * Private constructor since this is a utility class.
+     */
+    private ZoneRulesRefreshCount() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of times that the rules have been refreshed.
+     * <p>
+     * Callers caching data derived from the rules can compare the count
+     * to detect that the cached data should be discarded.
+     *
+     * @return the number of refreshes that may have changed the rules
+     */
+    public static long get() {
+        return count;
+    }
+
+    /**
+     * Records a refresh that changed, or may have changed, the rules.
+     */
+    public static synchronized void increment() {
+        count++;
+    }
+
+}
@@ -63,6 +63,11 @@ final class Ser implements Externalizable {
     static final byte ZOT = 2;
     /** Type for ZoneOffsetTransition. */
     static final byte ZOTRULE = 3;
+    /** Type for StandardZoneRules in the compact form used by version 2 of the TZDB file format. */
+    static final byte SZR_COMPACT = 4;
+
+    /** The units, in seconds, that delta encoded epoch seconds may be stored in. */
+    private static final int[] EPOCH_SEC_UNITS = {3600, 900, 60, 1};
 
     /** The type being serialized. */
     private byte type;
@@ -100,12 +105,19 @@ final class Ser implements Externalizable {
         writeInternal(SZR, object, out);
     }
 
+    static void writeCompact(Object object, DataOutput out) throws IOException {
+        writeInternal(SZR_COMPACT, object, out);
+    }
+
     private static void writeInternal(byte type, Object object, DataOutput out) throws IOException {
         out.writeByte(type);
         switch (type) {
             case SZR:
                 ((StandardZoneRules) object).writeExternal(out);
                 break;
+            case SZR_COMPACT:
+                ((StandardZoneRules) object).writeExternalCompact(out);
+                break;
             case ZOT:
                 ((ZoneOffsetTransition) object).writeExternal(out);
                 break;
@@ -137,6 +149,8 @@ final class Ser implements Externalizable {
         switch (type) {
             case SZR:
                 return StandardZoneRules.readExternal(in);
+            case SZR_COMPACT:
+                return StandardZoneRules.readExternalCompact(in);
             case ZOT:
                 return ZoneOffsetTransition.readExternal(in);
             case ZOTRULE:
@@ -223,4 +237,125 @@ final class Ser implements Externalizable {
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Writes an ascending array of epoch seconds to the stream.
+     * <p>
+     * The first value is written using {@link #writeEpochSec}.
+     * The remainder are written using {@link #writeVarLong} in units of the largest
+     * of an hour, quarter hour, minute or second that divides all of them.
+     * The second value is written as an absolute count of units, as the first value
+     * need not be a multiple of the unit, and the rest as the difference from the
+     * previous value.
+     *
+     * @param epochSecs  the epoch seconds, not null
+     * @param out  the output stream, not null
+     * @throws IOException if an error occurs
+     */
+    static void writeEpochSecs(long[] epochSecs, DataOutput out) throws IOException {
+        writeVarLong(epochSecs.length, out);
+        if (epochSecs.length == 0) {
+            return;
+        }
+        writeEpochSec(epochSecs[0], out);
+        if (epochSecs.length == 1) {
+            return;
+        }
+        int unitIndex = 0;
+        for (int i = 1; i < epochSecs.length; i++) {
+            while (epochSecs[i] % EPOCH_SEC_UNITS[unitIndex] != 0) {
+                unitIndex++;
+            }
+        }
+        int unit = EPOCH_SEC_UNITS[unitIndex];
+        out.writeByte(unitIndex);
+        writeVarLong(epochSecs[1] / unit, out);
+        for (int i = 2; i < epochSecs.length; i++) {
+            writeVarLong((epochSecs[i] - epochSecs[i - 1]) / unit, out);
+        }
+    }
+
+    /**
+     * Reads an array of epoch seconds from the stream.
+     *
+     * @param in  the input stream, not null
+     * @return the epoch seconds, not null
+     * @throws IOException if an error occurs
+     */
+    static long[] readEpochSecs(DataInput in) throws IOException {
+        long[] epochSecs = new long[readLength(in)];
+        if (epochSecs.length == 0) {
+            return epochSecs;
+        }
+        epochSecs[0] = readEpochSec(in);
+        if (epochSecs.length == 1) {
+            return epochSecs;
+        }
+        int unitIndex = in.readByte();
+        if (unitIndex < 0 || unitIndex >= EPOCH_SEC_UNITS.length) {
+            throw new StreamCorruptedException("Invalid unit: " + unitIndex);
+        }
+        int unit = EPOCH_SEC_UNITS[unitIndex];
+        long value = readVarLong(in);
+        epochSecs[1] = value * unit;
+        for (int i = 2; i < epochSecs.length; i++) {
+            value += readVarLong(in);
+            epochSecs[i] = value * unit;
+        }
+        return epochSecs;
+    }
+
+    /**
+     * Reads a length written by {@link #writeVarLong}.
+     *
+     * @param in  the input stream, not null
+     * @return the length, zero or greater
+     * @throws IOException if an error occurs
+     */
+    static int readLength(DataInput in) throws IOException {
+        long length = readVarLong(in);
+        if (length < 0 || length > Short.MAX_VALUE) {
+            throw new StreamCorruptedException("Invalid length: " + length);
+        }
+        return (int) length;
+    }
+
+    /**
+     * Writes a value to the stream using a variable number of bytes.
+     * <p>
+     * The value is zig-zag encoded, so that values close to zero use fewer bytes,
+     * and written seven bits at a time, with the high bit set if more bytes follow.
+     *
+     * @param value  the value
+     * @param out  the output stream, not null
+     * @throws IOException if an error occurs
+     */
+    static void writeVarLong(long value, DataOutput out) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        out.writeByte((int) zigZag);
+    }
+
+    /**
+     * Reads a value written by {@link #writeVarLong}.
+     *
+     * @param in  the input stream, not null
+     * @return the value
+     * @throws IOException if an error occurs
+     */
+    static long readVarLong(DataInput in) throws IOException {
+        long zigZag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readByte();
+            zigZag |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new StreamCorruptedException("Invalid variable length value");
+    }
+
 }
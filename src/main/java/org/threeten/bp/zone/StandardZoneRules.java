@@ -39,8 +39,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import org.threeten.bp.Duration;
 import org.threeten.bp.Instant;
@@ -65,9 +63,26 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      */
     private static final long serialVersionUID = 3044319355680032515L;
     /**
-     * The last year to have its transitions cached.
+     * The number of consecutive years, starting from the year of the last
+     * historic transition, that have their transitions cached.
      */
-    private static final int LAST_CACHED_YEAR = 2100;
+    private static final int CACHED_YEARS = 128;
+    /**
+     * The number of slots used to cache the transitions of other years.
+     * A year outside the consecutive years replaces any year sharing its slot.
+     */
+    private static final int CACHED_OTHER_YEARS = 16;
+    /**
+     * The first year covered by the offset index, inclusive.
+     */
+    private static final int OFFSET_INDEX_FIRST_YEAR =
+            getYearProperty("org.threeten.bp.zone.StandardZoneRules.offsetIndexFirstYear", 1970);
+    /**
+     * The last year covered by the offset index, inclusive.
+     * The index is disabled if this is before the first year.
+     */
+    private static final int OFFSET_INDEX_LAST_YEAR =
+            getYearProperty("org.threeten.bp.zone.StandardZoneRules.offsetIndexLastYear", 2100);
 
     /**
      * The transitions between standard offsets (epoch seconds), sorted.
@@ -91,15 +106,35 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      * The wall offsets.
      */
     private final ZoneOffset[] wallOffsets;
+    /**
+     * The transitions between instants, matching {@code savingsInstantTransitions}.
+     * These are created once and shared, as they are returned by many queries.
+     */
+    private final ZoneOffsetTransition[] savingsTransitions;
     /**
      * The last rule.
      */
     private final ZoneOffsetTransitionRule[] lastRules;
     /**
-     * The map of recent transitions.
+     * The single element lists of valid offsets, one for each distinct offset,
+     * most recent first.
      */
-    private final ConcurrentMap<Integer, ZoneOffsetTransition[]> lastRulesCache =
-                new ConcurrentHashMap<Integer, ZoneOffsetTransition[]>();
+    private final List<ZoneOffset>[] validOffsetLists;
+    /**
+     * The first year held in the cache of transitions created by the last rules.
+     */
+    private final int lastRulesCacheYear;
+    /**
+     * The cache of transitions created by the last rules, indexed by year.
+     * The first part of the array holds consecutive years starting from {@code lastRulesCacheYear},
+     * the remainder holds other years in a slot chosen from the low bits of the year.
+     * Entries are published without locking, which is safe as the entries are immutable.
+     */
+    private final YearTransitions[] lastRulesCache = new YearTransitions[CACHED_YEARS + CACHED_OTHER_YEARS];
+    /**
+     * The index of offsets by instant, built on first use, null until then.
+     */
+    private transient volatile OffsetIndex offsetIndex;
 
     /**
      * Creates an instance.
@@ -155,6 +190,14 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
             throw new IllegalArgumentException("Too many transition rules");
         }
         this.lastRules = lastRules.toArray(new ZoneOffsetTransitionRule[lastRules.size()]);
+        this.lastRulesCacheYear = findLastRulesCacheYear();
+
+        // shared objects
+        this.savingsTransitions = new ZoneOffsetTransition[savingsInstantTransitions.length];
+        for (int i = 0; i < savingsInstantTransitions.length; i++) {
+            this.savingsTransitions[i] = new ZoneOffsetTransition(savingsInstantTransitions[i], wallOffsets[i], wallOffsets[i + 1]);
+        }
+        this.validOffsetLists = createValidOffsetLists();
     }
 
     /**
@@ -182,10 +225,12 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
 
         // convert savings transitions to locals
         List<LocalDateTime> localTransitionList = new ArrayList<LocalDateTime>();
+        this.savingsTransitions = new ZoneOffsetTransition[savingsInstantTransitions.length];
         for (int i = 0; i < savingsInstantTransitions.length; i++) {
             ZoneOffset before = wallOffsets[i];
             ZoneOffset after = wallOffsets[i + 1];
             ZoneOffsetTransition trans = new ZoneOffsetTransition(savingsInstantTransitions[i], before, after);
+            this.savingsTransitions[i] = trans;
             if (trans.isGap()) {
                 localTransitionList.add(trans.getDateTimeBefore());
                 localTransitionList.add(trans.getDateTimeAfter());
@@ -195,6 +240,51 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
             }
         }
         this.savingsLocalTransitions = localTransitionList.toArray(new LocalDateTime[localTransitionList.size()]);
+        this.lastRulesCacheYear = findLastRulesCacheYear();
+        this.validOffsetLists = createValidOffsetLists();
+    }
+
+    /**
+     * Creates the single element lists of valid offsets.
+     *
+     * @return the lists, most recent offset first, not null
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private List<ZoneOffset>[] createValidOffsetLists() {
+        List<ZoneOffset> offsets = new ArrayList<ZoneOffset>();
+        for (ZoneOffsetTransitionRule rule : lastRules) {
+            addDistinct(offsets, rule.getOffsetBefore());
+            addDistinct(offsets, rule.getOffsetAfter());
+        }
+        for (int i = wallOffsets.length - 1; i >= 0; i--) {
+            addDistinct(offsets, wallOffsets[i]);
+        }
+        List<ZoneOffset>[] lists = new List[offsets.size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = Collections.singletonList(offsets.get(i));
+        }
+        return lists;
+    }
+
+    private static void addDistinct(List<ZoneOffset> offsets, ZoneOffset offset) {
+        for (ZoneOffset existing : offsets) {
+            if (existing == offset) {
+                return;
+            }
+        }
+        offsets.add(offset);
+    }
+
+    /**
+     * Finds the first year to cache, which is the year of the last historic transition.
+     *
+     * @return the year
+     */
+    private int findLastRulesCacheYear() {
+        if (savingsInstantTransitions.length == 0) {
+            return 1970;
+        }
+        return findYear(savingsInstantTransitions[savingsInstantTransitions.length - 1], wallOffsets[wallOffsets.length - 1]);
     }
 
     //-----------------------------------------------------------------------
@@ -234,6 +324,30 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         }
     }
 
+    /**
+     * Writes the state to the stream in the compact form.
+     * <p>
+     * This form is used by version 2 of the TZDB file format.
+     * The transitions are delta encoded and the lengths use a variable number of bytes.
+     *
+     * @param out  the output stream, not null
+     * @throws IOException if an error occurs
+     */
+    void writeExternalCompact(DataOutput out) throws IOException {
+        Ser.writeEpochSecs(standardTransitions, out);
+        for (ZoneOffset offset : standardOffsets) {
+            Ser.writeOffset(offset, out);
+        }
+        Ser.writeEpochSecs(savingsInstantTransitions, out);
+        for (ZoneOffset offset : wallOffsets) {
+            Ser.writeOffset(offset, out);
+        }
+        out.writeByte(lastRules.length);
+        for (ZoneOffsetTransitionRule rule : lastRules) {
+            rule.writeExternal(out);
+        }
+    }
+
     /**
      * Reads the state from the stream.
      *
@@ -268,6 +382,32 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         return new StandardZoneRules(stdTrans, stdOffsets, savTrans, savOffsets, rules);
     }
 
+    /**
+     * Reads the state from the stream in the compact form.
+     *
+     * @param in  the input stream, not null
+     * @return the created object, not null
+     * @throws IOException if an error occurs
+     */
+    static StandardZoneRules readExternalCompact(DataInput in) throws IOException, ClassNotFoundException {
+        long[] stdTrans = Ser.readEpochSecs(in);
+        ZoneOffset[] stdOffsets = new ZoneOffset[stdTrans.length + 1];
+        for (int i = 0; i < stdOffsets.length; i++) {
+            stdOffsets[i] = Ser.readOffset(in);
+        }
+        long[] savTrans = Ser.readEpochSecs(in);
+        ZoneOffset[] savOffsets = new ZoneOffset[savTrans.length + 1];
+        for (int i = 0; i < savOffsets.length; i++) {
+            savOffsets[i] = Ser.readOffset(in);
+        }
+        int ruleSize = in.readByte();
+        ZoneOffsetTransitionRule[] rules = new ZoneOffsetTransitionRule[ruleSize];
+        for (int i = 0; i < ruleSize; i++) {
+            rules[i] = ZoneOffsetTransitionRule.readExternal(in);
+        }
+        return new StandardZoneRules(stdTrans, stdOffsets, savTrans, savOffsets, rules);
+    }
+
     //-----------------------------------------------------------------------
     @Override
     public boolean isFixedOffset() {
@@ -279,6 +419,27 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
     public ZoneOffset getOffset(Instant instant) {
         long epochSec = instant.getEpochSecond();
 
+        // check the index, which covers the most commonly used years
+        OffsetIndex index = offsetIndex;
+        if (index == null && savingsInstantTransitions.length > 0) {
+            index = offsetIndex = OffsetIndex.build(this);
+        }
+        if (index != null) {
+            ZoneOffset offset = index.getOffset(epochSec);
+            if (offset != null) {
+                return offset;
+            }
+        }
+        return findOffset(epochSec);
+    }
+
+    /**
+     * Finds the offset for the epoch-second by searching the transitions.
+     *
+     * @param epochSec  the epoch-second to find the offset for
+     * @return the offset, not null
+     */
+    private ZoneOffset findOffset(long epochSec) {
         // check if using last rules
         if (lastRules.length > 0 &&
                 epochSec > savingsInstantTransitions[savingsInstantTransitions.length - 1]) {
@@ -303,6 +464,64 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         return wallOffsets[index + 1];
     }
 
+    @Override
+    void getOffsetSeconds(long[] instants, int unitsPerSecond, int[] offsetSeconds) {
+        // the offset found is valid from rangeStart inclusive to rangeEnd exclusive,
+        // which allows sorted or clustered input to avoid most searches
+        long rangeStart = 0;
+        long rangeEnd = 0;
+        int rangeOffset = 0;
+        long lastHistoric = (savingsInstantTransitions.length > 0 ?
+                savingsInstantTransitions[savingsInstantTransitions.length - 1] : Long.MAX_VALUE);
+        for (int i = 0; i < instants.length; i++) {
+            long epochSec = (unitsPerSecond == 1 ? instants[i] : Jdk8Methods.floorDiv(instants[i], unitsPerSecond));
+            if (epochSec < rangeStart || epochSec >= rangeEnd) {
+                if (lastRules.length > 0 && epochSec > lastHistoric) {
+                    // using last rules, the range is limited to the transitions of the year
+                    int year = findYear(epochSec, wallOffsets[wallOffsets.length - 1]);
+                    ZoneOffsetTransition[] transArray = findTransitionArray(year);
+                    rangeStart = Math.max(epochSec, lastHistoric + 1);
+                    rangeEnd = epochSec + 1;
+                    ZoneOffset offset = null;
+                    boolean afterLast = true;
+                    for (int j = 0; j < transArray.length; j++) {
+                        ZoneOffsetTransition trans = transArray[j];
+                        if (epochSec < trans.toEpochSecond()) {
+                            offset = trans.getOffsetBefore();
+                            rangeEnd = trans.toEpochSecond();
+                            afterLast = false;
+                            break;
+                        }
+                        offset = trans.getOffsetAfter();
+                        rangeStart = Math.max(trans.toEpochSecond(), lastHistoric + 1);
+                    }
+                    if (afterLast && year < Year.MAX_VALUE) {
+                        // after the last transition of the year, extend to the first of the next year
+                        ZoneOffsetTransition[] nextArray = findTransitionArray(year + 1);
+                        if (nextArray.length > 0 && nextArray[0].getOffsetBefore().equals(offset)) {
+                            rangeEnd = nextArray[0].toEpochSecond();
+                        }
+                    }
+                    rangeOffset = offset.getTotalSeconds();
+                } else {
+                    // using historic rules
+                    int index  = Arrays.binarySearch(savingsInstantTransitions, epochSec);
+                    if (index < 0) {
+                        index = -index - 2;
+                    }
+                    rangeStart = (index >= 0 ? savingsInstantTransitions[index] : Long.MIN_VALUE);
+                    if (index + 1 < savingsInstantTransitions.length) {
+                        rangeEnd = savingsInstantTransitions[index + 1];
+                    } else {
+                        rangeEnd = (lastRules.length > 0 ? lastHistoric + 1 : Long.MAX_VALUE);
+                    }
+                    rangeOffset = wallOffsets[index + 1].getTotalSeconds();
+                }
+            }
+            offsetSeconds[i] = rangeOffset;
+        }
+    }
+
     //-----------------------------------------------------------------------
     @Override
     public ZoneOffset getOffset(LocalDateTime localDateTime) {
@@ -315,11 +534,17 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
 
     @Override
     public List<ZoneOffset> getValidOffsets(LocalDateTime localDateTime) {
-        // should probably be optimized
         Object info = getOffsetInfo(localDateTime);
         if (info instanceof ZoneOffsetTransition) {
             return ((ZoneOffsetTransition) info).getValidOffsets();
         }
+        // avoid allocating a list in the normal case, as used by ZonedDateTime
+        List<ZoneOffset>[] lists = validOffsetLists;
+        for (int i = 0; i < lists.length; i++) {
+            if (lists[i].get(0) == info) {
+                return lists[i];
+            }
+        }
         return Collections.singletonList((ZoneOffset) info);
     }
 
@@ -360,17 +585,7 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         }
         if ((index & 1) == 0) {
             // gap or overlap
-            LocalDateTime dtBefore = savingsLocalTransitions[index];
-            LocalDateTime dtAfter = savingsLocalTransitions[index + 1];
-            ZoneOffset offsetBefore = wallOffsets[index / 2];
-            ZoneOffset offsetAfter = wallOffsets[index / 2 + 1];
-            if (offsetAfter.getTotalSeconds() > offsetBefore.getTotalSeconds()) {
-                // gap
-                return new ZoneOffsetTransition(dtBefore, offsetBefore, offsetAfter);
-            } else {
-                // overlap
-                return new ZoneOffsetTransition(dtAfter, offsetBefore, offsetAfter);
-            }
+            return savingsTransitions[index / 2];
         } else {
             // normal (neither gap or overlap)
             return wallOffsets[index / 2 + 1];
@@ -420,22 +635,45 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
      * @return the transition array, not null
      */
     private ZoneOffsetTransition[] findTransitionArray(int year) {
-        Integer yearObj = year;  // should use Year class, but this saves a class load
-        ZoneOffsetTransition[] transArray = lastRulesCache.get(yearObj);
-        if (transArray != null) {
-            return transArray;
+        int slot = year - lastRulesCacheYear;
+        if (slot < 0 || slot >= CACHED_YEARS) {
+            slot = CACHED_YEARS + (year & (CACHED_OTHER_YEARS - 1));
+        }
+        YearTransitions cached = lastRulesCache[slot];
+        if (cached != null && cached.year == year) {
+            return cached.transitions;
         }
         ZoneOffsetTransitionRule[] ruleArray = lastRules;
-        transArray  = new ZoneOffsetTransition[ruleArray.length];
+        ZoneOffsetTransition[] transArray  = new ZoneOffsetTransition[ruleArray.length];
         for (int i = 0; i < ruleArray.length; i++) {
             transArray[i] = ruleArray[i].createTransition(year);
         }
-        if (year < LAST_CACHED_YEAR) {
-            lastRulesCache.putIfAbsent(yearObj, transArray);
-        }
+        lastRulesCache[slot] = new YearTransitions(year, transArray);
         return transArray;
     }
 
+    /**
+     * The transitions created by the last rules for a single year.
+     * <p>
+     * This class is immutable, allowing instances to be published to
+     * other threads without locking via the final fields.
+     */
+    private static final class YearTransitions {
+        /**
+         * The year.
+         */
+        private final int year;
+        /**
+         * The transitions, not to be altered.
+         */
+        private final ZoneOffsetTransition[] transitions;
+
+        YearTransitions(int year, ZoneOffsetTransition[] transitions) {
+            this.year = year;
+            this.transitions = transitions;
+        }
+    }
+
     //-----------------------------------------------------------------------
     @Override
     public ZoneOffset getStandardOffset(Instant instant) {
@@ -497,7 +735,7 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         } else {
             index += 1;  // exact match, so need to add one to get the next
         }
-        return new ZoneOffsetTransition(savingsInstantTransitions[index], wallOffsets[index], wallOffsets[index + 1]);
+        return savingsTransitions[index];
     }
 
     @Override
@@ -540,7 +778,7 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
         if (index <= 0) {
             return null;
         }
-        return new ZoneOffsetTransition(savingsInstantTransitions[index - 1], wallOffsets[index - 1], wallOffsets[index]);
+        return savingsTransitions[index - 1];
     }
 
     private int findYear(long epochSecond, ZoneOffset offset) {
@@ -553,11 +791,7 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
     //-------------------------------------------------------------------------
     @Override
     public List<ZoneOffsetTransition> getTransitions() {
-        List<ZoneOffsetTransition> list = new ArrayList<ZoneOffsetTransition>();
-        for (int i = 0; i < savingsInstantTransitions.length; i++) {
-            list.add(new ZoneOffsetTransition(savingsInstantTransitions[i], wallOffsets[i], wallOffsets[i + 1]));
-        }
-        return Collections.unmodifiableList(list);
+        return Collections.unmodifiableList(Arrays.asList(savingsTransitions));
     }
 
     @Override
@@ -594,6 +828,171 @@ final class StandardZoneRules extends ZoneRules implements Serializable {
                 Arrays.hashCode(lastRules);
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Reads a year from a system property.
+     *
+     * @param name  the property name, not null
+     * @param defaultYear  the year to use if the property is not set or invalid
+     * @return the year
+     */
+    private static int getYearProperty(String name, int defaultYear) {
+        try {
+            Integer year = Integer.getInteger(name);
+            if (year != null && year >= Year.MIN_VALUE && year <= Year.MAX_VALUE) {
+                return year;
+            }
+        } catch (SecurityException ex) {
+            // use the default
+        }
+        return defaultYear;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A dense index from epoch-second to offset for a window of years.
+     * <p>
+     * The window is split into fixed size buckets of about 24 days, each holding the
+     * offset at the start of the bucket and the position of the transition within the
+     * bucket, if any. Looking up an offset is a shift, an array access and a comparison.
+     * Buckets containing more than one transition are marked, causing the caller to
+     * fall back to searching the transitions.
+     * <p>
+     * The window is controlled by the {@code org.threeten.bp.zone.StandardZoneRules.offsetIndexFirstYear}
+     * and {@code org.threeten.bp.zone.StandardZoneRules.offsetIndexLastYear} system properties,
+     * which default to 1970 and 2100. Setting the last year before the first year disables the index,
+     * as does a window of more than about 4000 years.
+     * <p>
+     * This class is immutable and thread-safe.
+     */
+    private static final class OffsetIndex {
+        /**
+         * The shift to convert seconds to buckets, 2^21 seconds is about 24 days.
+         */
+        private static final int BUCKET_SHIFT = 21;
+        /**
+         * The mask to extract the seconds within a bucket.
+         */
+        private static final long BUCKET_MASK = (1L << BUCKET_SHIFT) - 1;
+        /**
+         * The marker for a bucket without a transition.
+         */
+        private static final int NO_TRANSITION = Integer.MAX_VALUE;
+        /**
+         * The marker for a bucket that must be searched, the sign bit.
+         */
+        private static final long SEARCH = Long.MIN_VALUE;
+        /**
+         * The maximum number of buckets, limiting the window to about 4000 years.
+         */
+        private static final int MAX_BUCKETS = 65536;
+
+        /**
+         * The epoch-second of the start of the window.
+         */
+        private final long start;
+        /**
+         * The length of the window in seconds.
+         */
+        private final long length;
+        /**
+         * The distinct offsets, referred to by index from the buckets.
+         */
+        private final ZoneOffset[] offsets;
+        /**
+         * The buckets, each packed as the index of the offset after the transition
+         * in bits 48 to 62, the index of the offset before in bits 32 to 47 and
+         * the second within the bucket of the transition in bits 0 to 31.
+         */
+        private final long[] buckets;
+
+        private OffsetIndex(long start, ZoneOffset[] offsets, long[] buckets) {
+            this.start = start;
+            this.length = ((long) buckets.length) << BUCKET_SHIFT;
+            this.offsets = offsets;
+            this.buckets = buckets;
+        }
+
+        /**
+         * Builds the index for the rules.
+         *
+         * @param rules  the rules, not null
+         * @return the index, null if disabled
+         */
+        static OffsetIndex build(StandardZoneRules rules) {
+            if (OFFSET_INDEX_LAST_YEAR < OFFSET_INDEX_FIRST_YEAR) {
+                return null;
+            }
+            long start = LocalDate.of(OFFSET_INDEX_FIRST_YEAR, 1, 1).toEpochDay() * 86400;
+            long end = LocalDate.of(OFFSET_INDEX_LAST_YEAR, 12, 31).toEpochDay() * 86400 + 86400;
+            long count = (end - start + BUCKET_MASK) >> BUCKET_SHIFT;
+            if (count > MAX_BUCKETS) {
+                return null;
+            }
+            int bucketCount = (int) count;
+            List<ZoneOffset> offsets = new ArrayList<ZoneOffset>();
+            long[] buckets = new long[bucketCount];
+            ZoneOffset current = rules.findOffset(start);
+            ZoneOffsetTransition trans = rules.nextTransition(Instant.ofEpochSecond(start));
+            for (int i = 0; i < bucketCount; i++) {
+                long bucketStart = start + (((long) i) << BUCKET_SHIFT);
+                long bucketEnd = bucketStart + BUCKET_MASK + 1;
+                int before = indexOf(offsets, current);
+                if (trans == null || trans.toEpochSecond() >= bucketEnd) {
+                    buckets[i] = pack(before, before, NO_TRANSITION);
+                    continue;
+                }
+                int position = (int) (trans.toEpochSecond() - bucketStart);
+                current = trans.getOffsetAfter();
+                trans = rules.nextTransition(trans.getInstant());
+                if (trans != null && trans.toEpochSecond() < bucketEnd) {
+                    buckets[i] = SEARCH;
+                    while (trans != null && trans.toEpochSecond() < bucketEnd) {
+                        current = trans.getOffsetAfter();
+                        trans = rules.nextTransition(trans.getInstant());
+                    }
+                } else {
+                    buckets[i] = pack(before, indexOf(offsets, current), position);
+                }
+            }
+            return new OffsetIndex(start, offsets.toArray(new ZoneOffset[offsets.size()]), buckets);
+        }
+
+        private static int indexOf(List<ZoneOffset> offsets, ZoneOffset offset) {
+            int index = offsets.indexOf(offset);
+            if (index < 0) {
+                offsets.add(offset);
+                index = offsets.size() - 1;
+            }
+            return index;
+        }
+
+        private static long pack(int before, int after, int position) {
+            return (((long) after) << 48) | (((long) before) << 32) | position;
+        }
+
+        /**
+         * Gets the offset for the epoch-second.
+         *
+         * @param epochSec  the epoch-second
+         * @return the offset, null if the index cannot resolve the epoch-second
+         */
+        ZoneOffset getOffset(long epochSec) {
+            long relative = epochSec - start;
+            if (relative < 0 || relative >= length) {
+                return null;
+            }
+            long packed = buckets[(int) (relative >>> BUCKET_SHIFT)];
+            if (packed == SEARCH) {
+                return null;
+            }
+            if ((relative & BUCKET_MASK) < (int) packed) {
+                return offsets[(int) (packed >>> 32) & 0xFFFF];
+            }
+            return offsets[(int) (packed >>> 48)];
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Returns a string describing this object.
@@ -108,6 +108,7 @@ final class TzdbZoneRulesCompiler {
         File dstDir = null;
         boolean unpacked = false;
         boolean verbose = false;
+        int format = 0;
 
         // parse options
         int i;
@@ -131,6 +132,13 @@ final class TzdbZoneRulesCompiler {
                     version = args[i];
                     continue;
                 }
+            } else if ("-format".equals(arg)) {
+                if (format == 0 && ++i < args.length) {
+                    if ("1".equals(args[i]) || "2".equals(args[i])) {
+                        format = Integer.parseInt(args[i]);
+                        continue;
+                    }
+                }
             } else if ("-unpacked".equals(arg)) {
                 if (unpacked == false) {
                     unpacked = true;
@@ -199,7 +207,7 @@ final class TzdbZoneRulesCompiler {
             System.out.println("Destination is not a directory: " + dstDir);
             return;
         }
-        process(srcDirs, srcFileNames, dstDir, unpacked, verbose);
+        process(srcDirs, srcFileNames, dstDir, format == 0 ? 2 : format, unpacked, verbose);
     }
 
     /**
@@ -211,6 +219,7 @@ final class TzdbZoneRulesCompiler {
         System.out.println("   -srcdir <directory>   Where to find source directories (required)");
         System.out.println("   -dstdir <directory>   Where to output generated files (default srcdir)");
         System.out.println("   -version <version>    Specify the version, such as 2009a (optional)");
+        System.out.println("   -format <format>      The file format, 1 or 2 (default 2, readable from v1.3.3)");
         System.out.println("   -unpacked             Generate dat files without jar files");
         System.out.println("   -help                 Print this usage message");
         System.out.println("   -verbose              Output verbose information during compilation");
@@ -225,7 +234,7 @@ final class TzdbZoneRulesCompiler {
     /**
      * Process to create the jar files.
      */
-    private static void process(List<File> srcDirs, List<String> srcFileNames, File dstDir, boolean unpacked, boolean verbose) {
+    private static void process(List<File> srcDirs, List<String> srcFileNames, File dstDir, int format, boolean unpacked, boolean verbose) {
         // build actual jar files
         Map<Object, Object> deduplicateMap = new HashMap<Object, Object>();
         Map<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
@@ -267,7 +276,7 @@ final class TzdbZoneRulesCompiler {
                     if (verbose) {
                         System.out.println("Outputting file: " + dstFile);
                     }
-                    outputFile(dstFile, loopVersion, builtZones, parsedLeapSeconds);
+                    outputFile(dstFile, format, loopVersion, builtZones, parsedLeapSeconds);
                 }
 
                 // create totals
@@ -295,20 +304,20 @@ final class TzdbZoneRulesCompiler {
             if (verbose) {
                 System.out.println("Outputting combined files: " + dstDir);
             }
-            outputFilesDat(dstDir, allBuiltZones, allRegionIds, allRules, bestLeapSeconds);
+            outputFilesDat(dstDir, format, allBuiltZones, allRegionIds, allRules, bestLeapSeconds);
         } else {
             File dstFile = new File(dstDir, "threeten-TZDB-all.jar");
             if (verbose) {
                 System.out.println("Outputting combined file: " + dstFile);
             }
-            outputFile(dstFile, allBuiltZones, allRegionIds, allRules, bestLeapSeconds);
+            outputFile(dstFile, format, allBuiltZones, allRegionIds, allRules, bestLeapSeconds);
         }
     }
 
     /**
      * Outputs the DAT files.
      */
-    private static void outputFilesDat(File dstDir, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
+    private static void outputFilesDat(File dstDir, int format, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
             Set<String> allRegionIds, Set<ZoneRules> allRules, SortedMap<LocalDate, Byte> leapSeconds) {
         File tzdbFile = new File(dstDir, "TZDB.dat");
         tzdbFile.delete();
@@ -316,7 +325,7 @@ final class TzdbZoneRulesCompiler {
             FileOutputStream fos = null;
             try {
                 fos = new FileOutputStream(tzdbFile);
-                outputTzdbDat(fos, allBuiltZones, allRegionIds, allRules);
+                outputTzdbDat(fos, format, allBuiltZones, allRegionIds, allRules);
             } finally {
                 if (fos != null) {
                     fos.close();
@@ -332,23 +341,23 @@ final class TzdbZoneRulesCompiler {
     /**
      * Outputs the file.
      */
-    private static void outputFile(File dstFile, String version, SortedMap<String, ZoneRules> builtZones, SortedMap<LocalDate, Byte> leapSeconds) {
+    private static void outputFile(File dstFile, int format, String version, SortedMap<String, ZoneRules> builtZones, SortedMap<LocalDate, Byte> leapSeconds) {
         Map<String, SortedMap<String, ZoneRules>> loopAllBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
         loopAllBuiltZones.put(version, builtZones);
         Set<String> loopAllRegionIds = new TreeSet<String>(builtZones.keySet());
         Set<ZoneRules> loopAllRules = new HashSet<ZoneRules>(builtZones.values());
-        outputFile(dstFile, loopAllBuiltZones, loopAllRegionIds, loopAllRules, leapSeconds);
+        outputFile(dstFile, format, loopAllBuiltZones, loopAllRegionIds, loopAllRules, leapSeconds);
     }
 
     /**
      * Outputs the file.
      */
-    private static void outputFile(File dstFile, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
+    private static void outputFile(File dstFile, int format, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
             Set<String> allRegionIds, Set<ZoneRules> allRules, SortedMap<LocalDate, Byte> leapSeconds) {
         JarOutputStream jos = null;
         try {
             jos = new JarOutputStream(new FileOutputStream(dstFile));
-            outputTzdbEntry(jos, allBuiltZones, allRegionIds, allRules);
+            outputTzdbEntry(jos, format, allBuiltZones, allRegionIds, allRules);
         } catch (Exception ex) {
             System.out.println("Failed: " + ex.toString());
             ex.printStackTrace();
@@ -368,12 +377,12 @@ final class TzdbZoneRulesCompiler {
      * Outputs the timezone entry in the JAR file.
      */
     private static void outputTzdbEntry(
-            JarOutputStream jos, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
+            JarOutputStream jos, int format, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
             Set<String> allRegionIds, Set<ZoneRules> allRules) {
         // this format is not publicly specified
         try {
             jos.putNextEntry(new ZipEntry("org/threeten/bp/TZDB.dat"));
-            outputTzdbDat(jos, allBuiltZones, allRegionIds, allRules);
+            outputTzdbDat(jos, format, allBuiltZones, allRegionIds, allRules);
             jos.closeEntry();
         } catch (Exception ex) {
             System.out.println("Failed: " + ex.toString());
@@ -384,14 +393,17 @@ final class TzdbZoneRulesCompiler {
 
     /**
      * Outputs the timezone DAT file.
+     * <p>
+     * Format 2 has the same layout as format 1, but stores the rules in a compact form.
+     * In both formats, rules that are equal are stored once and shared by all regions using them.
      */
-    private static void outputTzdbDat(OutputStream jos,
+    static void outputTzdbDat(OutputStream jos, int format,
             Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
             Set<String> allRegionIds, Set<ZoneRules> allRules) throws IOException {
         DataOutputStream out = new DataOutputStream(jos);
 
         // file version
-        out.writeByte(1);
+        out.writeByte(format);
         // group
         out.writeUTF("TZDB");
         // versions
@@ -413,7 +425,11 @@ final class TzdbZoneRulesCompiler {
         for (ZoneRules rules : rulesList) {
             baos.reset();
             DataOutputStream dataos = new DataOutputStream(baos);
-            Ser.write(rules, dataos);
+            if (format == 1) {
+                Ser.write(rules, dataos);
+            } else {
+                Ser.writeCompact(rules, dataos);
+            }
             dataos.close();
             byte[] bytes = baos.toByteArray();
             out.writeShort(bytes.length);
@@ -31,21 +31,32 @@
  */
 package org.threeten.bp.zone;
 
-import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.io.StreamCorruptedException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.List;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.threeten.bp.jdk8.Jdk8Methods;
@@ -54,6 +65,12 @@ import org.threeten.bp.jdk8.Jdk8Methods;
  * Loads time-zone rules for 'TZDB'.
  * <p>
  * This class is public for the service loader to access.
+ * <p>
+ * The data is read into a single buffer, with the rules for each region being
+ * decoded directly from the buffer the first time they are requested.
+ * If the {@code org.threeten.bp.zone.TzdbZoneRulesProvider.mapFile} system property
+ * is set to true, data held in a file, rather than a jar, is memory-mapped instead.
+ * The file must not be altered while the application is running.
  *
  * <h3>Specification for implementors</h3>
  * This class is immutable and thread-safe.
@@ -62,6 +79,11 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
     // TODO: can this be private/hidden in any way?
     // service loader seems to need it to be public
 
+    /**
+     * Whether to memory-map data held in files.
+     */
+    private static final boolean MAP_FILE = getMapFileProperty();
+
     /**
      * All the regions that are available.
      */
@@ -153,6 +175,61 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         return map;
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Decodes the rules for all regions in parallel.
+     * <p>
+     * The rules for each region are normally decoded when first requested.
+     * This method allows the cost to be paid in advance, such as during startup.
+     *
+     * @param executor  the executor to decode using, not null
+     * @throws ZoneRulesException if the rules cannot be decoded
+     * @throws InterruptedException if interrupted while waiting for the decoding to complete
+     */
+    public void preloadRules(Executor executor) throws InterruptedException {
+        preloadRules(Arrays.asList(versions.lastEntry().getValue().regionArray), executor);
+    }
+
+    /**
+     * Decodes the rules for the specified regions in parallel.
+     * <p>
+     * The rules for each region are normally decoded when first requested.
+     * This method allows the cost to be paid in advance, such as during startup.
+     * Each region is decoded as a separate task submitted to the executor,
+     * and this method waits for all the tasks to complete.
+     *
+     * @param regionIds  the region IDs to decode, not null
+     * @param executor  the executor to decode using, not null
+     * @throws ZoneRulesException if a region ID is unknown or its rules cannot be decoded
+     * @throws InterruptedException if interrupted while waiting for the decoding to complete
+     */
+    public void preloadRules(Collection<String> regionIds, Executor executor) throws InterruptedException {
+        Jdk8Methods.requireNonNull(regionIds, "regionIds");
+        Jdk8Methods.requireNonNull(executor, "executor");
+        List<FutureTask<ZoneRules>> tasks = new ArrayList<FutureTask<ZoneRules>>(regionIds.size());
+        for (final String regionId : regionIds) {
+            Jdk8Methods.requireNonNull(regionId, "regionId");
+            FutureTask<ZoneRules> task = new FutureTask<ZoneRules>(new Callable<ZoneRules>() {
+                @Override
+                public ZoneRules call() {
+                    return provideRules(regionId, true);
+                }
+            });
+            tasks.add(task);
+            executor.execute(task);
+        }
+        for (FutureTask<ZoneRules> task : tasks) {
+            try {
+                task.get();
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof ZoneRulesException) {
+                    throw (ZoneRulesException) ex.getCause();
+                }
+                throw new ZoneRulesException("Unable to decode TZDB time-zone rules", ex.getCause());
+            }
+        }
+    }
+
     //-------------------------------------------------------------------------
     /**
      * Loads the rules.
@@ -188,6 +265,9 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
     private boolean load(URL url) throws ClassNotFoundException, IOException, ZoneRulesException {
         boolean updated = false;
         if (loadedUrls.add(url.toExternalForm())) {
+            if (MAP_FILE && "file".equals(url.getProtocol())) {
+                return load(mapFile(url));
+            }
             InputStream in = null;
             try {
                 in = url.openStream();
@@ -208,8 +288,18 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
      * @throws Exception if an error occurs
      */
     private boolean load(InputStream in) throws IOException, StreamCorruptedException {
+        return load(readFully(in));
+    }
+
+    /**
+     * Loads the rules from a buffer.
+     *
+     * @param buffer  the buffer to load, not null
+     * @throws Exception if an error occurs
+     */
+    private boolean load(ByteBuffer buffer) throws IOException, StreamCorruptedException {
         boolean updated = false;
-        Iterable<Version> loadedVersions = loadData(in);
+        Iterable<Version> loadedVersions = loadData(buffer);
         for (Version loadedVersion : loadedVersions) {
             // see https://github.com/ThreeTen/threetenbp/pull/28 for issue wrt
             // multiple versions of lib on classpath
@@ -223,14 +313,19 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
     }
 
     /**
-     * Loads the rules from an input stream.
+     * Loads the rules from a buffer.
+     * <p>
+     * Only the position of the rules for each region is recorded.
+     * The rules themselves are decoded when first requested.
      *
-     * @param in  the stream to load, not null, not closed after use
+     * @param buffer  the buffer to load, not null
      * @throws Exception if an error occurs
      */
-    private Iterable<Version> loadData(InputStream in) throws IOException, StreamCorruptedException {
-        DataInputStream dis = new DataInputStream(in);
-        if (dis.readByte() != 1) {
+    private Iterable<Version> loadData(ByteBuffer buffer) throws IOException, StreamCorruptedException {
+        DataInputStream dis = new DataInputStream(new ByteBufferInputStream(buffer));
+        // format 2 differs only in the encoding of the rules
+        int format = dis.readByte();
+        if (format != 1 && format != 2) {
             throw new StreamCorruptedException("File format not recognised");
         }
         // group
@@ -251,15 +346,18 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
             regionArray[i] = dis.readUTF();
         }
         regionIds.addAll(Arrays.asList(regionArray));
-        // rules
+        // rules, recording the position and skipping the bytes
         int ruleCount = dis.readShort();
-        Object[] ruleArray = new Object[ruleCount];
+        int[] rulePositions = new int[ruleCount];
         for (int i = 0; i < ruleCount; i++) {
-            byte[] bytes = new byte[dis.readShort()];
-            dis.readFully(bytes);
-            ruleArray[i] = bytes;
+            int length = dis.readShort();
+            rulePositions[i] = buffer.position();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new StreamCorruptedException("File format not recognised");
+            }
+            buffer.position(buffer.position() + length);
         }
-        AtomicReferenceArray<Object> ruleData = new AtomicReferenceArray<Object>(ruleArray);
+        RuleData ruleData = new RuleData(buffer.duplicate(), rulePositions);
         // link version-region-rules
         Set<Version> versionSet = new HashSet<Version>(versionCount);
         for (int i = 0; i < versionCount; i++) {
@@ -275,11 +373,116 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         return versionSet;
     }
 
+    /**
+     * Reads the whole of a stream into a buffer.
+     *
+     * @param in  the stream to read, not null, not closed after use
+     * @return the buffer, not null
+     * @throws IOException if an IO error occurs
+     */
+    private static ByteBuffer readFully(InputStream in) throws IOException {
+        byte[] bytes = new byte[Math.max(in.available(), 8192)];
+        int size = 0;
+        int count;
+        while ((count = in.read(bytes, size, bytes.length - size)) >= 0) {
+            size += count;
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+        }
+        return ByteBuffer.wrap(bytes, 0, size).slice();
+    }
+
+    /**
+     * Memory-maps a file.
+     *
+     * @param url  the file URL, not null
+     * @return the mapped buffer, not null
+     * @throws IOException if an IO error occurs
+     */
+    private static ByteBuffer mapFile(URL url) throws IOException {
+        File file;
+        try {
+            file = new File(url.toURI());
+        } catch (URISyntaxException ex) {
+            throw new IOException("Invalid file URL: " + url);
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            // the mapping remains valid after the file is closed
+            return raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Reads the system property controlling memory-mapping.
+     *
+     * @return true to memory-map files
+     */
+    private static boolean getMapFileProperty() {
+        try {
+            return Boolean.getBoolean("org.threeten.bp.zone.TzdbZoneRulesProvider.mapFile");
+        } catch (SecurityException ex) {
+            return false;
+        }
+    }
+
     @Override
     public String toString() {
         return "TZDB";
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * The rules loaded from a single source, shared between the versions in that source.
+     */
+    static class RuleData {
+        /**
+         * The number of locks, which must be a power of two.
+         */
+        private static final int LOCK_COUNT = 32;
+
+        private final ByteBuffer buffer;
+        private final int[] positions;
+        private final AtomicReferenceArray<ZoneRules> rules;
+        private final Object[] locks;
+
+        RuleData(ByteBuffer buffer, int[] positions) {
+            this.buffer = buffer;
+            this.positions = positions;
+            this.rules = new AtomicReferenceArray<ZoneRules>(positions.length);
+            this.locks = new Object[LOCK_COUNT];
+            for (int i = 0; i < LOCK_COUNT; i++) {
+                locks[i] = new Object();
+            }
+        }
+
+        ZoneRules getRules(int index) throws Exception {
+            ZoneRules obj = rules.get(index);
+            if (obj == null) {
+                // only one thread decodes each rule, others wait for the result
+                synchronized (locks[index & (LOCK_COUNT - 1)]) {
+                    obj = rules.get(index);
+                    if (obj == null) {
+                        obj = decode(index);
+                        rules.set(index, obj);
+                    }
+                }
+            }
+            return obj;
+        }
+
+        private ZoneRules decode(int index) throws Exception {
+            // each decode uses its own view of the buffer, as the position is mutable
+            ByteBuffer view = buffer.duplicate();
+            view.position(positions[index]);
+            DataInputStream dis = new DataInputStream(new ByteBufferInputStream(view));
+            return (ZoneRules) Ser.read(dis);
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * A version of the TZDB rules.
@@ -288,9 +491,9 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         private final String versionId;
         private final String[] regionArray;
         private final short[] ruleIndices;
-        private final AtomicReferenceArray<Object> ruleData;
+        private final RuleData ruleData;
 
-        Version(String versionId, String[] regionIds, short[] ruleIndices, AtomicReferenceArray<Object> ruleData) {
+        Version(String versionId, String[] regionIds, short[] ruleIndices, RuleData ruleData) {
             this.ruleData = ruleData;
             this.versionId = versionId;
             this.regionArray = regionIds;
@@ -310,14 +513,7 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         }
 
         ZoneRules createRule(short index) throws Exception {
-            Object obj = ruleData.get(index);
-            if (obj instanceof byte[]) {
-                byte[] bytes = (byte[]) obj;
-                DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bytes));
-                obj = Ser.read(dis);
-                ruleData.set(index, obj);
-            }
-            return (ZoneRules) obj;
+            return ruleData.getRules(index);
         }
 
         @Override
@@ -326,4 +522,46 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * An input stream reading from a buffer, avoiding a copy of the data.
+     */
+    static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (buffer.hasRemaining() == false) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long count) {
+            int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
 }
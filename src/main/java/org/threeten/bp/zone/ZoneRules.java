@@ -32,9 +32,11 @@
 package org.threeten.bp.zone;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import org.threeten.bp.DateTimeException;
 import org.threeten.bp.Duration;
 import org.threeten.bp.Instant;
 import org.threeten.bp.LocalDateTime;
@@ -132,6 +134,80 @@ public abstract class ZoneRules {
      */
     public abstract ZoneOffset getOffset(Instant instant);
 
+    /**
+     * Gets the offsets applicable at the specified epoch-seconds in these rules.
+     * <p>
+     * This is the bulk equivalent of {@link #getOffset(Instant)}, intended for
+     * converting large arrays of instants without creating an {@code Instant}
+     * or {@code ZoneOffset} for each one.
+     * The total offset in seconds for each element of the input array is stored
+     * in the element at the same index in the output array.
+     * Arrays sorted in ascending order, or containing runs of nearby values,
+     * are processed fastest.
+     *
+     * @param epochSeconds  the epoch-seconds to find the offsets for, not null
+     * @param offsetSeconds  the array to store the offsets in seconds in, not null
+     * @throws IllegalArgumentException if the offset array is shorter than the epoch-second array
+     * @throws DateTimeException if an epoch-second exceeds the supported range
+     */
+    public void getOffsetSeconds(long[] epochSeconds, int[] offsetSeconds) {
+        Jdk8Methods.requireNonNull(epochSeconds, "epochSeconds");
+        Jdk8Methods.requireNonNull(offsetSeconds, "offsetSeconds");
+        if (offsetSeconds.length < epochSeconds.length) {
+            throw new IllegalArgumentException("Offset array is shorter than epoch-second array");
+        }
+        // every epoch-milli is within the range of Instant, but not every epoch-second
+        long min = Instant.MIN.getEpochSecond();
+        long max = Instant.MAX.getEpochSecond();
+        for (int i = 0; i < epochSeconds.length; i++) {
+            if (epochSeconds[i] < min || epochSeconds[i] > max) {
+                throw new DateTimeException("Instant exceeds minimum or maximum instant");
+            }
+        }
+        getOffsetSeconds(epochSeconds, 1, offsetSeconds);
+    }
+
+    /**
+     * Gets the offsets applicable at the specified epoch-millis in these rules.
+     * <p>
+     * This is the bulk equivalent of {@link #getOffset(Instant)}, intended for
+     * converting large arrays of instants without creating an {@code Instant}
+     * or {@code ZoneOffset} for each one.
+     * The total offset in seconds for each element of the input array is stored
+     * in the element at the same index in the output array.
+     * Arrays sorted in ascending order, or containing runs of nearby values,
+     * are processed fastest.
+     *
+     * @param epochMillis  the epoch-millis to find the offsets for, not null
+     * @param offsetSeconds  the array to store the offsets in seconds in, not null
+     * @throws IllegalArgumentException if the offset array is shorter than the epoch-milli array
+     * @throws DateTimeException if an epoch-milli exceeds the supported range
+     */
+    public void getOffsetSecondsOfEpochMillis(long[] epochMillis, int[] offsetSeconds) {
+        Jdk8Methods.requireNonNull(epochMillis, "epochMillis");
+        Jdk8Methods.requireNonNull(offsetSeconds, "offsetSeconds");
+        if (offsetSeconds.length < epochMillis.length) {
+            throw new IllegalArgumentException("Offset array is shorter than epoch-milli array");
+        }
+        getOffsetSeconds(epochMillis, 1000, offsetSeconds);
+    }
+
+    /**
+     * Gets the offsets applicable at the specified instants, which have been validated.
+     * <p>
+     * Subclasses override this to provide a faster implementation.
+     *
+     * @param instants  the instants, as a count of the unit from the epoch, not null
+     * @param unitsPerSecond  the number of units per second, 1 or 1000
+     * @param offsetSeconds  the array to store the offsets in seconds in, not null
+     */
+    void getOffsetSeconds(long[] instants, int unitsPerSecond, int[] offsetSeconds) {
+        for (int i = 0; i < instants.length; i++) {
+            long epochSec = Jdk8Methods.floorDiv(instants[i], unitsPerSecond);
+            offsetSeconds[i] = getOffset(Instant.ofEpochSecond(epochSec)).getTotalSeconds();
+        }
+    }
+
     /**
      * Gets a suitable offset for the specified local date-time in these rules.
      * <p>
@@ -404,6 +480,8 @@ public abstract class ZoneRules {
         private static final long serialVersionUID = -8733721350312276297L;
         /** The offset. */
         private final ZoneOffset offset;
+        /** The list of valid offsets, containing just the offset. */
+        private final transient List<ZoneOffset> validOffsets;
 
         /**
          * Constructor.
@@ -412,6 +490,16 @@ public abstract class ZoneRules {
          */
         Fixed(ZoneOffset offset) {
             this.offset = offset;
+            this.validOffsets = Collections.singletonList(offset);
+        }
+
+        /**
+         * Resolves the deserialized instance, creating the list of valid offsets.
+         *
+         * @return the resolved instance, not null
+         */
+        private Object readResolve() {
+            return new Fixed(offset);
         }
 
         //-------------------------------------------------------------------------
@@ -425,6 +513,11 @@ public abstract class ZoneRules {
             return offset;
         }
 
+        @Override
+        void getOffsetSeconds(long[] instants, int unitsPerSecond, int[] offsetSeconds) {
+            Arrays.fill(offsetSeconds, 0, instants.length, offset.getTotalSeconds());
+        }
+
         @Override
         public ZoneOffset getOffset(LocalDateTime localDateTime) {
             return offset;
@@ -432,7 +525,7 @@ public abstract class ZoneRules {
 
         @Override
         public List<ZoneOffset> getValidOffsets(LocalDateTime localDateTime) {
-            return Collections.singletonList(offset);
+            return validOffsets;
         }
 
         @Override
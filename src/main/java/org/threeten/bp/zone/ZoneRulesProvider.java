@@ -44,6 +44,7 @@ import org.threeten.bp.DateTimeException;
 import org.threeten.bp.ZoneId;
 import org.threeten.bp.ZonedDateTime;
 import org.threeten.bp.jdk8.Jdk8Methods;
+import org.threeten.bp.jdk8.ZoneRulesRefreshCount;
 
 /**
  * Provider of time-zone rules to the system.
@@ -237,8 +238,17 @@ public abstract class ZoneRulesProvider {
      */
     public static boolean refresh() {
         boolean changed = false;
-        for (ZoneRulesProvider provider : PROVIDERS) {
-            changed |= provider.provideRefresh();
+        boolean completed = false;
+        try {
+            for (ZoneRulesProvider provider : PROVIDERS) {
+                changed |= provider.provideRefresh();
+            }
+            completed = true;
+        } finally {
+            if (changed || completed == false) {
+                // discard cached zone IDs that may hold the old rules
+                ZoneRulesRefreshCount.increment();
+            }
         }
         return changed;
     }
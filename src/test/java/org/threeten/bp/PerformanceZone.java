@@ -66,6 +66,7 @@ public class PerformanceZone {
             jsrInstantGetOffset();
             jsrRulesLocalGetOffset();
             jsrRulesInstantGetOffset();
+            jsrRulesBulkGetOffset();
             jdkLocalGetOffset();
             jdkInstantGetOffset();
             System.out.println();
@@ -124,6 +125,21 @@ public class PerformanceZone {
         System.out.println("JSR-InR: Setup:  " + NF.format(end - start) + " ns" + list[0]);
     }
 
+    //-----------------------------------------------------------------------
+    private static void jsrRulesBulkGetOffset() {
+        long epochSec = LocalDateTime.of(YEAR, 6, 1, 12, 0).toEpochSecond(ZoneOffset.ofHours(1));
+        ZoneRules tz = ZoneId.of("Europe/London").getRules();
+        long[] epochSecs = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            epochSecs[i] = epochSec + i * 60L;
+        }
+        int[] list = new int[SIZE];
+        long start = System.nanoTime();
+        tz.getOffsetSeconds(epochSecs, list);
+        long end = System.nanoTime();
+        System.out.println("JSR-Blk: Setup:  " + NF.format(end - start) + " ns" + list[0]);
+    }
+
     //-----------------------------------------------------------------------
     private static void jdkLocalGetOffset() {
         java.util.TimeZone tz = java.util.TimeZone.getTimeZone("Europe/London");
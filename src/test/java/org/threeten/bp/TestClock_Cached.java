@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test cached clock.
+ */
+@Test
+public class TestClock_Cached extends AbstractTest {
+
+    private static final ZoneId MOSCOW = ZoneId.of("Europe/Moscow");
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+    private static final Duration HOUR = Duration.ofHours(1);
+    private static final ZonedDateTime ZDT = LocalDateTime.of(2008, 6, 30, 11, 30, 10, 500).atZone(ZoneOffset.ofHours(2));
+    private static final Instant INSTANT = ZDT.toInstant();
+
+    //-----------------------------------------------------------------------
+    public void test_isSerializable() throws IOException, ClassNotFoundException {
+        assertSerializable(Clock.cached(Clock.systemUTC(), HOUR));
+        assertSerializable(Clock.cached(Clock.fixed(INSTANT, PARIS), Duration.ofMillis(10)));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_cached_fixed() {
+        Clock test = Clock.cached(Clock.fixed(INSTANT, PARIS), HOUR);
+        assertSame(test.instant(), test.instant());
+        assertEquals(test.instant(), INSTANT);
+        assertEquals(test.millis(), INSTANT.toEpochMilli());
+        assertEquals(test.getZone(), PARIS);
+        assertSame(Instant.now(test), test.instant());
+    }
+
+    public void test_cached_system() {
+        long before = System.currentTimeMillis();
+        Clock test = Clock.cached(Clock.systemUTC(), HOUR);
+        long after = System.currentTimeMillis();
+        assertTrue(test.millis() >= before && test.millis() <= after);
+        assertEquals(test.getZone(), ZoneOffset.UTC);
+    }
+
+    public void test_cached_refreshes() throws InterruptedException {
+        Clock test = Clock.cached(Clock.systemUTC(), Duration.ofMillis(1));
+        Instant first = test.instant();
+        long end = System.currentTimeMillis() + 10000;
+        while (test.instant().equals(first) && System.currentTimeMillis() < end) {
+            Thread.sleep(5);
+        }
+        assertTrue(test.instant().isAfter(first));
+    }
+
+    public void test_cached_sharesTicker() {
+        Clock base = Clock.fixed(INSTANT, PARIS);
+        Clock.CachedClock a = (Clock.CachedClock) Clock.cached(base, HOUR);
+        Clock.CachedClock b = (Clock.CachedClock) Clock.cached(Clock.fixed(INSTANT, PARIS), HOUR);
+        Clock.CachedClock other = (Clock.CachedClock) Clock.cached(base, Duration.ofMinutes(1));
+        assertSame(b.ticker, a.ticker);
+        assertTrue(other.ticker != a.ticker);
+    }
+
+    public void test_cached_tickerHasNoContextClassLoader() throws InterruptedException {
+        final ClassLoader[] seen = new ClassLoader[1];
+        final CountDownLatch refreshed = new CountDownLatch(1);
+        Clock base = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return PARIS;
+            }
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+            @Override
+            public Instant instant() {
+                if (Thread.currentThread().getName().equals("threetenbp-clock-ticker")) {
+                    seen[0] = Thread.currentThread().getContextClassLoader();
+                    refreshed.countDown();
+                }
+                return INSTANT;
+            }
+        };
+        Clock test = Clock.cached(base, Duration.ofMillis(1));
+        assertTrue(refreshed.await(10, TimeUnit.SECONDS));
+        assertEquals(seen[0], null);
+        assertEquals(test.instant(), INSTANT);
+    }
+
+    public void test_zonedDateTime_now() {
+        Clock test = Clock.cached(Clock.fixed(INSTANT, PARIS), HOUR);
+        ZonedDateTime now = ZonedDateTime.now(test);
+        assertEquals(now, ZonedDateTime.ofInstant(INSTANT, PARIS));
+        assertSame(ZonedDateTime.now(test), now);
+        assertEquals(LocalDateTime.now(test), now.toLocalDateTime());
+    }
+
+    public void test_withZone() {
+        Clock test = Clock.cached(Clock.fixed(INSTANT, PARIS), HOUR);
+        Clock changed = test.withZone(MOSCOW);
+        assertEquals(changed.getZone(), MOSCOW);
+        assertSame(changed.instant(), test.instant());
+        assertEquals(ZonedDateTime.now(changed), ZonedDateTime.ofInstant(INSTANT, MOSCOW));
+        assertEquals(ZonedDateTime.now(test), ZonedDateTime.ofInstant(INSTANT, PARIS));
+    }
+
+    public void test_withZone_same() {
+        Clock test = Clock.cached(Clock.fixed(INSTANT, PARIS), HOUR);
+        assertSame(test.withZone(PARIS), test);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_withZone_null() {
+        Clock.cached(Clock.fixed(INSTANT, PARIS), HOUR).withZone(null);
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_cached_belowMillisecond() {
+        Clock.cached(Clock.systemUTC(), Duration.ofNanos(999999));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_cached_negative() {
+        Clock.cached(Clock.systemUTC(), Duration.ofMillis(-1));
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_cached_nullClock() {
+        Clock.cached(null, HOUR);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_cached_nullDuration() {
+        Clock.cached(Clock.systemUTC(), null);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_equals() {
+        Clock a = Clock.cached(Clock.fixed(INSTANT, PARIS), HOUR);
+        Clock b = Clock.cached(Clock.fixed(INSTANT, PARIS), HOUR);
+        assertEquals(a.equals(a), true);
+        assertEquals(a.equals(b), true);
+        assertEquals(b.equals(a), true);
+        assertEquals(a.hashCode(), b.hashCode());
+
+        Clock c = Clock.cached(Clock.fixed(INSTANT, MOSCOW), HOUR);
+        assertEquals(a.equals(c), false);
+        Clock d = Clock.cached(Clock.fixed(INSTANT, PARIS), Duration.ofMinutes(1));
+        assertEquals(a.equals(d), false);
+        assertEquals(a.equals(Clock.fixed(INSTANT, PARIS)), false);
+        assertEquals(a.equals(null), false);
+        assertEquals(a.equals("other type"), false);
+    }
+
+    public void test_toString() {
+        Clock test = Clock.cached(Clock.systemUTC(), HOUR);
+        assertEquals(test.toString(), "CachedClock[SystemClock[Z],PT1H]");
+    }
+
+}
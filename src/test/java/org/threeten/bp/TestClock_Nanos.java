@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.Clock.TimeSource;
+
+/**
+ * Test nanosecond system clock.
+ */
+@Test
+public class TestClock_Nanos extends AbstractTest {
+
+    private static final ZoneId MOSCOW = ZoneId.of("Europe/Moscow");
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+
+    //-----------------------------------------------------------------------
+    public void test_isSerializable() throws IOException, ClassNotFoundException {
+        assertSerializable(Clock.systemNanos(PARIS));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_instant() {
+        Clock test = Clock.systemNanos(PARIS);
+        assertEquals(test.getZone(), PARIS);
+        for (int i = 0; i < 1000; i++) {
+            long before = System.currentTimeMillis();
+            Instant instant = test.instant();
+            long after = System.currentTimeMillis();
+            // allow for the millisecond anchor and scheduling between the calls
+            assertTrue(instant.toEpochMilli() >= before - 5, instant + " " + before);
+            assertTrue(instant.toEpochMilli() <= after + 5, instant + " " + after);
+        }
+    }
+
+    public void test_millis() {
+        Clock test = Clock.systemNanos(ZoneOffset.UTC);
+        long before = System.currentTimeMillis();
+        long millis = test.millis();
+        long after = System.currentTimeMillis();
+        assertTrue(millis >= before - 5 && millis <= after + 5);
+    }
+
+    public void test_monotonic() {
+        Clock test = Clock.systemNanos(PARIS);
+        Instant previous = test.instant();
+        boolean subMillis = false;
+        for (int i = 0; i < 100000; i++) {
+            Instant instant = test.instant();
+            assertTrue(instant.compareTo(previous) >= 0, previous + " " + instant);
+            subMillis |= (instant.getNano() % 1000000 != 0);
+            previous = instant;
+        }
+        assertTrue(subMillis);
+    }
+
+    public void test_monotonic_acrossZones() {
+        Clock test = Clock.systemNanos(PARIS);
+        Clock other = test.withZone(MOSCOW);
+        Instant previous = test.instant();
+        for (int i = 0; i < 10000; i++) {
+            Instant instant = (i % 2 == 0 ? other : test).instant();
+            assertTrue(instant.compareTo(previous) >= 0, previous + " " + instant);
+            previous = instant;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    private static final long WALL_MILLIS = 1400000000000L;
+    private static final long WALL_NANOS = WALL_MILLIS * 1000000L;
+
+    public void test_source_consistentWithinGranularity() {
+        FakeTime time = new FakeTime();
+        Clock.NanoSource source = new Clock.NanoSource(time, 16000000L);
+        time.nanoTime += 1010000000L;
+        time.millis += 1000;
+        // ahead by 10ms is within a 16ms granule, so the timeline is kept
+        assertEquals(source.epochNanos(), WALL_NANOS + 1010000000L);
+        time.nanoTime += 1;
+        assertEquals(source.epochNanos(), WALL_NANOS + 1010000001L);
+    }
+
+    public void test_source_behindStepsForward() {
+        FakeTime time = new FakeTime();
+        Clock.NanoSource source = new Clock.NanoSource(time, 1000000L);
+        time.nanoTime += 1000000001L;
+        time.millis += 1010;
+        assertEquals(source.epochNanos(), WALL_NANOS + 1010000000L);
+        time.nanoTime += 1;
+        assertEquals(source.epochNanos(), WALL_NANOS + 1010000001L);
+    }
+
+    public void test_source_aheadSlews() {
+        FakeTime time = new FakeTime();
+        Clock.NanoSource source = new Clock.NanoSource(time, 1000000L);
+        time.nanoTime += 1005000000L;
+        time.millis += 1000;
+        // ahead by 5ms, continues from the prediction rather than stepping back
+        long previous = source.epochNanos();
+        assertEquals(previous, WALL_NANOS + 1005000000L);
+        for (int i = 0; i < 45000; i++) {
+            time.nanoTime += 1000;
+            long epochNanos = source.epochNanos();
+            assertTrue(epochNanos > previous, previous + " " + epochNanos);
+            previous = epochNanos;
+        }
+        // 4.5ms removed over 45ms, leaving the clock in the middle of the granule
+        assertEquals(previous, WALL_NANOS + 1045500000L);
+        time.nanoTime += 1000;
+        assertEquals(source.epochNanos(), WALL_NANOS + 1045501000L);
+    }
+
+    public void test_source_aheadByMoreThanSecondPauses() {
+        FakeTime time = new FakeTime();
+        Clock.NanoSource source = new Clock.NanoSource(time, 1000000L);
+        time.nanoTime += 1000000000L;
+        time.millis += 1000;
+        long before = source.epochNanos();
+        time.nanoTime += 1000000001L;
+        time.millis += 1000 - 3600000;
+        // wall clock set back an hour, the clock pauses rather than going back
+        assertEquals(source.epochNanos(), before);
+        time.nanoTime += 3601000000000L;
+        time.millis += 3601000;
+        assertEquals(source.epochNanos(), WALL_NANOS + 3000000000L);
+    }
+
+    public void test_measureGranularity() {
+        TimeSource coarse = new TimeSource() {
+            private long calls;
+            @Override
+            public long nanoTime() {
+                return 0;
+            }
+            @Override
+            public long currentTimeMillis() {
+                return WALL_MILLIS + (calls++ / 7) * 16;
+            }
+        };
+        assertEquals(Clock.NanoSource.measureGranularity(coarse), 16000000L);
+        assertTrue(new Clock.NanoSource().getGranularityNanos() >= 1000000L);
+    }
+
+    static class FakeTime implements TimeSource {
+        long nanoTime = 123456789L;
+        long millis = WALL_MILLIS;
+        @Override
+        public long nanoTime() {
+            return nanoTime;
+        }
+        @Override
+        public long currentTimeMillis() {
+            return millis;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_withZone() {
+        Clock test = Clock.systemNanos(PARIS);
+        Clock changed = test.withZone(MOSCOW);
+        assertEquals(test.getZone(), PARIS);
+        assertEquals(changed.getZone(), MOSCOW);
+        assertSame(test.withZone(PARIS), test);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_withZone_null() {
+        Clock.systemNanos(PARIS).withZone(null);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_systemNanos_null() {
+        Clock.systemNanos(null);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_equals() {
+        Clock a = Clock.systemNanos(PARIS);
+        Clock b = Clock.systemNanos(PARIS);
+        assertEquals(a.equals(a), true);
+        assertEquals(a.equals(b), true);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(a.equals(Clock.systemNanos(MOSCOW)), false);
+        assertEquals(a.equals(Clock.system(PARIS)), false);
+        assertEquals(a.equals(null), false);
+        assertEquals(a.equals("other type"), false);
+    }
+
+    public void test_toString() {
+        assertEquals(Clock.systemNanos(PARIS).toString(), "NanoClock[Europe/Paris]");
+    }
+
+}
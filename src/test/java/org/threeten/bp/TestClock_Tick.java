@@ -54,6 +54,7 @@ public class TestClock_Tick extends AbstractTest {
     public void test_isSerializable() throws IOException, ClassNotFoundException {
         assertSerializable(Clock.tickSeconds(PARIS));
         assertSerializable(Clock.tickMinutes(MOSCOW));
+        assertSerializable(Clock.tickMillis(PARIS));
         assertSerializable(Clock.tick(Clock.fixed(INSTANT, PARIS), AMOUNT));
     }
 
@@ -134,6 +135,37 @@ public class TestClock_Tick extends AbstractTest {
         Clock.tick(Clock.systemUTC(), null);
     }
 
+    //-----------------------------------------------------------------------
+    public void test_tick_sameInstantWithinTick() {
+        Clock test = Clock.tick(Clock.fixed(ZDT.withNano(123456789).toInstant(), PARIS), Duration.ofMillis(250));
+        Instant instant = test.instant();
+        assertEquals(instant, ZDT.withNano(0).toInstant());
+        assertSame(test.instant(), instant);
+        test = Clock.tick(Clock.fixed(ZDT.withNano(123456789).toInstant(), PARIS), Duration.ofNanos(250000));
+        instant = test.instant();
+        assertEquals(instant, ZDT.withNano(123250000).toInstant());
+        assertSame(test.instant(), instant);
+    }
+
+    public void test_tick_beforeEpoch() {
+        Instant base = Instant.ofEpochSecond(-2, 123456789);
+        assertEquals(Clock.tick(Clock.fixed(base, PARIS), Duration.ofMillis(1)).instant(), Instant.ofEpochSecond(-2, 123000000));
+        assertEquals(Clock.tick(Clock.fixed(base, PARIS), Duration.ofNanos(20)).instant(), Instant.ofEpochSecond(-2, 123456780));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_tickMillis_ZoneId() {
+        Clock test = Clock.tickMillis(PARIS);
+        assertEquals(test.getZone(), PARIS);
+        assertEquals(test.instant().getNano() % 1000000, 0);
+        assertEquals(test, Clock.tick(Clock.system(PARIS), Duration.ofMillis(1)));
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_tickMillis_ZoneId_nullZoneId() {
+        Clock.tickMillis(null);
+    }
+
     //-----------------------------------------------------------------------
     public void test_tickSeconds_ZoneId() throws Exception {
         Clock test = Clock.tickSeconds(PARIS);
@@ -36,6 +36,7 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 import static org.threeten.bp.temporal.ChronoField.ALIGNED_DAY_OF_WEEK_IN_MONTH;
 import static org.threeten.bp.temporal.ChronoField.ALIGNED_DAY_OF_WEEK_IN_YEAR;
 import static org.threeten.bp.temporal.ChronoField.ALIGNED_WEEK_OF_MONTH;
@@ -74,6 +75,7 @@ import org.testng.annotations.Test;
 import org.threeten.bp.chrono.IsoChronology;
 import org.threeten.bp.format.DateTimeFormatter;
 import org.threeten.bp.format.DateTimeParseException;
+import org.threeten.bp.jdk8.Jdk8Methods;
 import org.threeten.bp.temporal.ChronoField;
 import org.threeten.bp.temporal.ChronoUnit;
 import org.threeten.bp.temporal.JulianFields;
@@ -480,6 +482,143 @@ public class TestLocalDate extends AbstractDateTimeTest {
         LocalDate.ofEpochDay(MIN_VALID_EPOCHDAYS - 1);
     }
 
+    //-----------------------------------------------------------------------
+    // decodeEpochDays() / encodeEpochDays()
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_decodeEpochDays_sorted() {
+        int size = 2000000;
+        long[] epochDays = new long[size];
+        for (int i = 0; i < size; i++) {
+            epochDays[i] = i - 1000000;
+        }
+        assertDecode(epochDays);
+    }
+
+    @Test
+    public void test_decodeEpochDays_unsorted() {
+        long[] epochDays = new long[100000];
+        long seed = 1234567;
+        for (int i = 0; i < epochDays.length; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            epochDays[i] = (i % 3 == 0 ? (seed >> 44) : Jdk8Methods.floorMod(seed, MAX_VALID_EPOCHDAYS - MIN_VALID_EPOCHDAYS) + MIN_VALID_EPOCHDAYS);
+        }
+        assertDecode(epochDays);
+    }
+
+    @Test
+    public void test_decodeEpochDays_extremes() {
+        assertDecode(new long[] {MIN_VALID_EPOCHDAYS, MIN_VALID_EPOCHDAYS + 1, -1, 0, 1, MAX_VALID_EPOCHDAYS - 1, MAX_VALID_EPOCHDAYS});
+    }
+
+    @Test
+    public void test_decodeEpochDays_int() {
+        int[] epochDays = {-719529, -719528, -1, 0, 31, 59, 60, 11016, 11017, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        int[] years = new int[epochDays.length];
+        int[] months = new int[epochDays.length];
+        int[] days = new int[epochDays.length];
+        LocalDate.decodeEpochDays(epochDays, years, months, days);
+        for (int i = 0; i < epochDays.length; i++) {
+            assertEquals(LocalDate.of(years[i], months[i], days[i]), LocalDate.ofEpochDay(epochDays[i]));
+        }
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_decodeEpochDays_aboveMax() {
+        LocalDate.decodeEpochDays(new long[] {0, MAX_VALID_EPOCHDAYS + 1}, new int[2], new int[2], new int[2]);
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_decodeEpochDays_shortOutput() {
+        LocalDate.decodeEpochDays(new long[3], new int[3], new int[2], new int[3]);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_decodeEpochDays_null() {
+        LocalDate.decodeEpochDays((long[]) null, new int[3], new int[3], new int[3]);
+    }
+
+    @Test
+    public void test_encodeEpochDays() {
+        int size = 800000;
+        int[] years = new int[size];
+        int[] months = new int[size];
+        int[] days = new int[size];
+        LocalDate date = LocalDate.of(-200, 1, 1);
+        for (int i = 0; i < size; i++) {
+            years[i] = date.getYear();
+            months[i] = date.getMonthValue();
+            days[i] = date.getDayOfMonth();
+            date = next(date);
+        }
+        years[size - 1] = Year.MAX_VALUE;
+        months[size - 1] = 12;
+        days[size - 1] = 31;
+        years[size - 2] = Year.MIN_VALUE;
+        months[size - 2] = 1;
+        days[size - 2] = 1;
+        long[] epochDays = new long[size];
+        LocalDate.encodeEpochDays(years, months, days, epochDays);
+        for (int i = 0; i < size; i++) {
+            assertEquals(epochDays[i], LocalDate.of(years[i], months[i], days[i]).toEpochDay());
+        }
+    }
+
+    @DataProvider(name="invalidEncode")
+    Object[][] provider_invalidEncode() {
+        return new Object[][] {
+            {2007, 2, 29},
+            {2008, 4, 31},
+            {2008, 13, 1},
+            {2008, 0, 1},
+            {2008, 1, 0},
+            {2008, 1, 32},
+            {Year.MAX_VALUE + 1, 1, 1},
+        };
+    }
+
+    @Test(dataProvider="invalidEncode", expectedExceptions=DateTimeException.class)
+    public void test_encodeEpochDays_invalid(int year, int month, int day) {
+        LocalDate.encodeEpochDays(new int[] {2008, year}, new int[] {1, month}, new int[] {1, day}, new long[2]);
+    }
+
+    @Test
+    public void test_encodeEpochDays_invalidMessage() {
+        int[][] invalid = {{2007, 2, 29}, {2008, 4, 31}, {2008, 2, 30}};
+        for (int[] date : invalid) {
+            String expected = null;
+            try {
+                LocalDate.of(date[0], date[1], date[2]);
+            } catch (DateTimeException ex) {
+                expected = ex.getMessage();
+            }
+            try {
+                LocalDate.encodeEpochDays(new int[] {date[0]}, new int[] {date[1]}, new int[] {date[2]}, new long[1]);
+                fail();
+            } catch (DateTimeException ex) {
+                assertEquals(ex.getMessage(), expected);
+            }
+        }
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_encodeEpochDays_shortOutput() {
+        LocalDate.encodeEpochDays(new int[3], new int[3], new int[3], new long[2]);
+    }
+
+    private void assertDecode(long[] epochDays) {
+        int[] years = new int[epochDays.length];
+        int[] months = new int[epochDays.length];
+        int[] days = new int[epochDays.length + 1];
+        LocalDate.decodeEpochDays(epochDays, years, months, days);
+        for (int i = 0; i < epochDays.length; i++) {
+            LocalDate expected = LocalDate.ofEpochDay(epochDays[i]);
+            if (expected.getYear() != years[i] || expected.getMonthValue() != months[i] || expected.getDayOfMonth() != days[i]) {
+                assertEquals(years[i] + "-" + months[i] + "-" + days[i], expected.toString(), "Epoch-day " + epochDays[i]);
+            }
+        }
+    }
+
     //-----------------------------------------------------------------------
     // from()
     //-----------------------------------------------------------------------
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test LocalDate epoch-day conversion against a reference implementation.
+ * <p>
+ * The full range of epoch-days is too large to test exhaustively, so every day
+ * is tested over several thousand years either side of 1970 and at each end of
+ * the supported range, with a strided sample in between.
+ */
+@Test
+public class TestLocalDate_EpochDay {
+
+    private static final int DAYS_PER_CYCLE = 146097;
+    private static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+    private static final long MIN_EPOCH_DAY = LocalDate.MIN.toEpochDay();
+    private static final long MAX_EPOCH_DAY = LocalDate.MAX.toEpochDay();
+
+    //-----------------------------------------------------------------------
+    public void test_epochDay_aroundEpoch() {
+        assertRange(-20L * DAYS_PER_CYCLE, 20L * DAYS_PER_CYCLE, 1);
+    }
+
+    public void test_epochDay_rangeEnds() {
+        assertRange(MIN_EPOCH_DAY, MIN_EPOCH_DAY + 2L * DAYS_PER_CYCLE, 1);
+        assertRange(MAX_EPOCH_DAY - 2L * DAYS_PER_CYCLE, MAX_EPOCH_DAY + 1, 1);
+    }
+
+    public void test_epochDay_fullRangeSample() {
+        // the stride is coprime to the 146097 day cycle and gives at least 146097 samples,
+        // so every day-of-cycle position is visited
+        assertRange(MIN_EPOCH_DAY, MAX_EPOCH_DAY + 1, 4999999L);
+    }
+
+    public void test_epochDay_outsideRange() {
+        long[] invalid = {MIN_EPOCH_DAY - 1, MAX_EPOCH_DAY + 1, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (long epochDay : invalid) {
+            try {
+                LocalDate.ofEpochDay(epochDay);
+                fail("Expected DateTimeException for " + epochDay);
+            } catch (DateTimeException ex) {
+                // expected
+            }
+        }
+    }
+
+    private void assertRange(long start, long end, long step) {
+        for (long epochDay = start; epochDay < end; epochDay += step) {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            int[] expected = referenceOfEpochDay(epochDay);
+            if (date.getYear() != expected[0] || date.getMonthValue() != expected[1] || date.getDayOfMonth() != expected[2]) {
+                fail("Epoch-day " + epochDay + " gave " + date + " but expected " + expected[0] + "-" + expected[1] + "-" + expected[2]);
+            }
+            if (date.toEpochDay() != epochDay) {
+                assertEquals(date.toEpochDay(), epochDay, date.toString());
+            }
+            if (referenceToEpochDay(expected[0], expected[1], expected[2]) != epochDay) {
+                fail("Reference round trip failed for " + epochDay);
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // the estimate-then-correct algorithm previously used by LocalDate
+    private static int[] referenceOfEpochDay(long epochDay) {
+        long zeroDay = epochDay + DAYS_0000_TO_1970;
+        zeroDay -= 60;
+        long adjust = 0;
+        if (zeroDay < 0) {
+            long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+        }
+        long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        yearEst += adjust;
+        int marchDoy0 = (int) doyEst;
+        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12 + 1;
+        int dom = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+        yearEst += marchMonth0 / 10;
+        return new int[] {(int) yearEst, month, dom};
+    }
+
+    private static long referenceToEpochDay(long y, long m, long day) {
+        long total = 0;
+        total += 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += ((367 * m - 362) / 12);
+        total += day - 1;
+        if (m > 2) {
+            total--;
+            boolean leap = ((y & 3) == 0) && ((y % 100) != 0 || (y % 400) == 0);
+            if (leap == false) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+}
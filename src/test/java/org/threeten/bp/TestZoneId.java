@@ -34,17 +34,24 @@ package org.threeten.bp;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
 import java.util.SimpleTimeZone;
 import java.util.TimeZone;
+import java.util.TreeMap;
 
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -53,6 +60,7 @@ import org.threeten.bp.temporal.TemporalAccessor;
 import org.threeten.bp.zone.ZoneOffsetTransition;
 import org.threeten.bp.zone.ZoneRules;
 import org.threeten.bp.zone.ZoneRulesException;
+import org.threeten.bp.zone.ZoneRulesProvider;
 
 /**
  * Test ZoneId.
@@ -385,6 +393,91 @@ public class TestZoneId extends AbstractTest {
         assertEquals(test.getRules().isFixedOffset(), false);
     }
 
+    public void test_of_string_cached() {
+        ZoneId first = ZoneId.of("Europe/Paris");
+        long hits = ZoneId.getRegionCacheHitCount();
+        ZoneId test = ZoneId.of("Europe/Paris");
+        assertSame(test, first);
+        assertEquals(ZoneId.getRegionCacheHitCount() > hits, true);
+    }
+
+    public void test_of_string_cached_refresh() {
+        MockRefreshProvider provider = new MockRefreshProvider();
+        ZoneRulesProvider.registerProvider(provider);
+        ZoneId first = ZoneId.of(MockRefreshProvider.ID);
+        assertSame(ZoneId.of(MockRefreshProvider.ID), first);
+        assertEquals(first.getRules(), ZoneOffset.ofHours(1).getRules());
+
+        long misses = ZoneId.getRegionCacheMissCount();
+        assertEquals(ZoneRulesProvider.refresh(), true);
+        ZoneId test = ZoneId.of(MockRefreshProvider.ID);
+        assertEquals(ZoneId.getRegionCacheMissCount() > misses, true);
+        assertNotSame(test, first);
+        assertEquals(test, first);
+        assertEquals(test.getRules(), ZoneOffset.ofHours(2).getRules());
+        assertSame(ZoneId.of(MockRefreshProvider.ID), test);
+    }
+
+    public void test_ofId_lenient_afterRefreshRemovesZone() {
+        MockRemovingProvider provider = new MockRemovingProvider();
+        ZoneRulesProvider.registerProvider(provider);
+        ZoneRegion first = ZoneRegion.ofId(MockRemovingProvider.ID, true);
+        assertEquals(first.getRules(), ZoneOffset.ofHours(3).getRules());
+        assertEquals(ZoneRulesProvider.refresh(), true);
+        ZoneRegion test = ZoneRegion.ofId(MockRemovingProvider.ID, false);
+        assertEquals(test.getId(), MockRemovingProvider.ID);
+        assertNotSame(test, first);
+    }
+
+    static class MockRemovingProvider extends ZoneRulesProvider {
+        static final String ID = "ThreeTenTest/Removed";
+        volatile boolean removed;
+        @Override
+        protected Set<String> provideZoneIds() {
+            return new HashSet<String>(Collections.singleton(ID));
+        }
+        @Override
+        protected ZoneRules provideRules(String zoneId, boolean forCaching) {
+            if (removed) {
+                throw new ZoneRulesException("Removed: " + zoneId);
+            }
+            return ZoneOffset.ofHours(3).getRules();
+        }
+        @Override
+        protected NavigableMap<String, ZoneRules> provideVersions(String zoneId) {
+            return new TreeMap<String, ZoneRules>();
+        }
+        @Override
+        protected boolean provideRefresh() {
+            removed = true;
+            return true;
+        }
+    }
+
+    static class MockRefreshProvider extends ZoneRulesProvider {
+        static final String ID = "ThreeTenTest/Refresh";
+        volatile ZoneRules rules = ZoneOffset.ofHours(1).getRules();
+        @Override
+        protected Set<String> provideZoneIds() {
+            return new HashSet<String>(Collections.singleton(ID));
+        }
+        @Override
+        protected ZoneRules provideRules(String zoneId, boolean forCaching) {
+            return rules;
+        }
+        @Override
+        protected NavigableMap<String, ZoneRules> provideVersions(String zoneId) {
+            NavigableMap<String, ZoneRules> result = new TreeMap<String, ZoneRules>();
+            result.put("1", rules);
+            return result;
+        }
+        @Override
+        protected boolean provideRefresh() {
+            rules = ZoneOffset.ofHours(2).getRules();
+            return true;
+        }
+    }
+
     //-----------------------------------------------------------------------
     @Test(expectedExceptions=NullPointerException.class)
     public void test_of_string_null() {
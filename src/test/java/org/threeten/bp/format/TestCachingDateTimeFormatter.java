@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import java.util.Locale;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.DateTimeException;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.temporal.ChronoField;
+import org.threeten.bp.temporal.TemporalAccessor;
+
+/**
+ * Test CachingDateTimeFormatter.
+ */
+@Test
+public class TestCachingDateTimeFormatter {
+
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+    private static final int[] NANOS = {0, 1, 999, 1000, 1001, 123456789, 500000000, 999999999};
+
+    @DataProvider(name="eligible")
+    Object[][] data_eligible() {
+        return new Object[][] {
+            {DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")},
+            {DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSSSS")},
+            {DateTimeFormatter.ofPattern("dd MMM uuuu HH:mm:ss,SSSSSS XXX", Locale.ENGLISH)},
+            {DateTimeFormatter.ofPattern("HH:mm:ss")},
+            {DateTimeFormatter.ofPattern("EEEE HH:mm:ss.SS [VV]", Locale.ENGLISH)},
+            {new DateTimeFormatterBuilder().appendPattern("HH:mm:ss.")
+                .appendValue(ChronoField.MILLI_OF_SECOND, 3).appendLiteral('/')
+                .appendValue(ChronoField.NANO_OF_SECOND, 9).toFormatter()},
+            {new DateTimeFormatterBuilder().appendPattern("yyyy-MM-dd HH:mm:ss")
+                .appendFraction(ChronoField.NANO_OF_SECOND, 4, 4, true).toFormatter()
+                .withDecimalStyle(DecimalStyle.STANDARD.withZeroDigit('٠'))},
+        };
+    }
+
+    @Test(dataProvider="eligible")
+    public void test_format_matchesFormatter(DateTimeFormatter formatter) {
+        CachingDateTimeFormatter test = CachingDateTimeFormatter.of(formatter);
+        LocalDateTime base = LocalDateTime.of(2012, 7, 27, 10, 15, 30);
+        for (int sec = 0; sec < 3; sec++) {
+            for (int nano : NANOS) {
+                LocalDateTime ldt = base.plusSeconds(sec).withNano(nano);
+                assertFormat(test, ldt);
+                assertFormat(test, ldt.atOffset(ZoneOffset.ofHours(2)));
+                assertFormat(test, ldt.atOffset(ZoneOffset.ofHours(-5)));
+                assertFormat(test, ldt.atZone(PARIS));
+                assertFormat(test, ldt.atZone(ZoneOffset.UTC));
+            }
+        }
+    }
+
+    @Test
+    public void test_format_instant() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(PARIS);
+        CachingDateTimeFormatter test = CachingDateTimeFormatter.of(formatter);
+        Instant base = Instant.ofEpochSecond(1343376930L);
+        for (int sec = -1; sec < 2; sec++) {
+            for (int nano : NANOS) {
+                assertFormat(test, base.plusSeconds(sec).plusNanos(nano));
+            }
+        }
+        assertEquals(test.format(Instant.ofEpochSecond(1343376930L, 7000000)), "2012-07-27 10:15:30.007");
+    }
+
+    @Test
+    public void test_format_sameSecondDifferentType() {
+        CachingDateTimeFormatter test = CachingDateTimeFormatter.of(DateTimeFormatter.ofPattern("HH:mm:ss.SSS XXX"));
+        LocalDateTime ldt = LocalDateTime.of(2012, 7, 27, 10, 15, 30, 1000000);
+        assertEquals(test.format(ldt.atOffset(ZoneOffset.UTC)), "10:15:30.001 Z");
+        assertEquals(test.format(ldt.atZone(ZoneOffset.UTC)), "10:15:30.001 Z");
+        assertEquals(test.format(ldt.atOffset(ZoneOffset.ofHours(1)).withOffsetSameInstant(ZoneOffset.UTC)), "09:15:30.001 Z");
+    }
+
+    @Test
+    public void test_format_failedRenderKeepsCache() {
+        CachingDateTimeFormatter test = CachingDateTimeFormatter.of(DateTimeFormatter.ofPattern("MMMM d HH:mm:ss.SSS VV", Locale.ENGLISH));
+        ZonedDateTime may = LocalDateTime.of(2012, 5, 1, 10, 0, 0, 100000000).atZone(ZoneId.of("UTC"));
+        assertEquals(test.format(may), "May 1 10:00:00.100 UTC");
+        try {
+            test.format(LocalDateTime.of(2012, 9, 1, 10, 0));
+            fail("Expected DateTimeException");
+        } catch (DateTimeException ex) {
+            // expected, no zone to print
+        }
+        assertEquals(test.format(may.withNano(987000000)), "May 1 10:00:00.987 UTC");
+    }
+
+    @Test
+    public void test_formatTo() {
+        CachingDateTimeFormatter test = CachingDateTimeFormatter.of(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
+        StringBuilder buf = new StringBuilder("T=");
+        test.formatTo(LocalDateTime.of(2012, 7, 27, 10, 15, 30, 12000000), buf);
+        test.formatTo(LocalDate.of(2012, 7, 27).atTime(11, 0), buf.append(' '));
+        assertEquals(buf.toString(), "T=10:15:30.012 11:00:00.000");
+    }
+
+    @Test
+    public void test_format_otherType() {
+        CachingDateTimeFormatter test = CachingDateTimeFormatter.of(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
+        assertEquals(test.format(LocalDateTime.of(2012, 7, 27, 10, 15, 30, 12000000).toLocalTime()), "10:15:30.012");
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_format_unsupported() {
+        CachingDateTimeFormatter test = CachingDateTimeFormatter.of(DateTimeFormatter.ofPattern("yyyy HH:mm:ss"));
+        test.format(Instant.ofEpochSecond(0));
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="ineligible")
+    Object[][] data_ineligible() {
+        return new Object[][] {
+            {DateTimeFormatter.ISO_LOCAL_DATE_TIME},
+            {DateTimeFormatter.ISO_INSTANT},
+            {DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM)},
+            {new DateTimeFormatterBuilder().appendValue(ChronoField.NANO_OF_SECOND).toFormatter()},
+            {new DateTimeFormatterBuilder().appendValue(ChronoField.MILLI_OF_DAY, 8).toFormatter()},
+            {new DateTimeFormatterBuilder().appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true).toFormatter()},
+            {new DateTimeFormatterBuilder().appendFraction(ChronoField.MILLI_OF_SECOND, 3, 3, true).toFormatter()},
+        };
+    }
+
+    @Test(dataProvider="ineligible", expectedExceptions=IllegalArgumentException.class)
+    public void test_of_ineligible(DateTimeFormatter formatter) {
+        CachingDateTimeFormatter.of(formatter);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_of_null() {
+        CachingDateTimeFormatter.of(null);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_format_null() {
+        CachingDateTimeFormatter.of(DateTimeFormatter.ofPattern("HH:mm:ss")).format(null);
+    }
+
+    @Test
+    public void test_getFormatter() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm:ss");
+        assertEquals(CachingDateTimeFormatter.of(formatter).getFormatter(), formatter);
+    }
+
+    private static void assertFormat(CachingDateTimeFormatter test, TemporalAccessor temporal) {
+        String expected;
+        try {
+            expected = test.getFormatter().format(temporal);
+        } catch (DateTimeException ex) {
+            try {
+                test.format(temporal);
+                fail("Expected " + ex.getClass().getSimpleName() + " for " + temporal);
+            } catch (DateTimeException ex2) {
+                assertEquals(ex2.getClass(), ex.getClass());
+            }
+            return;
+        }
+        assertEquals(test.format(temporal), expected, temporal.toString());
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.threeten.bp.temporal.ChronoField.NANO_OF_SECOND;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.DateTimeException;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.LocalTime;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.chrono.ThaiBuddhistChronology;
+import org.threeten.bp.temporal.TemporalAccessor;
+
+/**
+ * Test CompiledPrinter.
+ */
+@Test
+public class TestCompiledPrinter {
+
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+    private static final LocalDateTime LDT = LocalDateTime.of(2012, 7, 5, 0, 6, 9, 12345678);
+
+    @DataProvider(name="compiled")
+    Object[][] data_compiled() {
+        return new Object[][] {
+            {"yyyy-MM-dd HH:mm:ss.SSS"},
+            {"uuuu-MM-dd'T'HH:mm:ss.SSSSSSSSS"},
+            {"yyyyMMddHHmmssS"},
+            {"d/M/y h:m:s"},
+            {"D k K"},
+            {"yy"},
+        };
+    }
+
+    @Test(dataProvider="compiled")
+    public void test_compiled(String pattern) {
+        DateTimeFormatter f = DateTimeFormatter.ofPattern(pattern);
+        if (pattern.equals("yy")) {
+            // reduced value is not compiled
+            assertNull(compile(f));
+        } else {
+            assertEquals(compile(f).print(LDT, new StringBuilder()), true);
+            assertEquals(compile(f).print(LDT.atZone(PARIS), new StringBuilder()), true);
+        }
+        assertPrint(f, LDT);
+        assertPrint(f, LDT.withHour(12));
+        assertPrint(f, LDT.withHour(23).withNano(0));
+        assertPrint(f, LocalDateTime.of(1, 1, 1, 0, 0));
+        assertPrint(f, LDT.atOffset(ZoneOffset.ofHours(-5)));
+        assertPrint(f, LDT.atZone(PARIS));
+        assertPrint(f.withZone(PARIS), LDT.atZone(ZoneOffset.UTC));
+        assertPrint(f.withZone(PARIS), LDT.atOffset(ZoneOffset.ofHours(3)));
+        assertPrint(f.withZone(PARIS), LDT.toInstant(ZoneOffset.UTC));
+        assertPrint(f.withZone(PARIS), LDT);
+    }
+
+    @Test
+    public void test_notCompiled() {
+        assertNull(compile(DateTimeFormatter.ofPattern("yyyy-MMM-dd")));
+        assertNull(compile(DateTimeFormatter.ofPattern("yyyy[-MM]")));
+        assertNull(compile(DateTimeFormatter.ofPattern("HH:mm XXX")));
+        assertNull(compile(DateTimeFormatter.ofPattern("yyyy-MM-dd").withChronology(ThaiBuddhistChronology.INSTANCE)));
+        assertNull(compile(new DateTimeFormatterBuilder().appendFraction(NANO_OF_SECOND, 0, 9, true).toFormatter()));
+        assertNotNull(compile(DateTimeFormatter.ISO_LOCAL_DATE));
+    }
+
+    @Test
+    public void test_fallback() {
+        DateTimeFormatter f = DateTimeFormatter.ofPattern("uuuu-MM-dd");
+        assertPrint(f, LocalDate.of(-1, 1, 1));
+        assertPrint(f, LocalDate.of(12345, 1, 1));
+        assertPrint(DateTimeFormatter.ISO_LOCAL_DATE, LocalDate.of(-12345, 1, 1));
+        assertPrint(DateTimeFormatter.ofPattern("HH:mm"), LocalTime.of(10, 15));
+    }
+
+    @Test
+    public void test_zeroDigit() {
+        DateTimeFormatter f = DateTimeFormatter.ofPattern("yyyy-MM-dd HH.SSS").withDecimalStyle(DecimalStyle.STANDARD.withZeroDigit('A'));
+        assertNotNull(compile(f));
+        assertPrint(f, LDT);
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_fallback_instantNoZone() {
+        DateTimeFormatter.ofPattern("yyyy-MM-dd").format(Instant.EPOCH);
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_fallback_noTime() {
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH").format(LocalDate.of(2012, 7, 5));
+    }
+
+    //-----------------------------------------------------------------------
+    private static CompiledPrinter compile(DateTimeFormatter f) {
+        return CompiledPrinter.compile(f.toPrinterParser(false), f.getDecimalStyle(), f.getChronology(), f.getZone());
+    }
+
+    private static void assertPrint(DateTimeFormatter f, TemporalAccessor temporal) {
+        StringBuilder expected = new StringBuilder();
+        f.toPrinterParser(false).print(new DateTimePrintContext(temporal, f), expected);
+        assertEquals(f.format(temporal), expected.toString());
+        CompiledPrinter compiled = compile(f);
+        if (compiled != null) {
+            StringBuilder buf = new StringBuilder("x");
+            if (compiled.print(temporal, buf)) {
+                assertEquals(buf.toString(), "x" + expected);
+            } else {
+                assertEquals(buf.toString(), "x");
+            }
+        }
+    }
+
+}
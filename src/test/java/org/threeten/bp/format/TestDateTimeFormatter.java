@@ -34,18 +34,26 @@ package org.threeten.bp.format;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 import static org.threeten.bp.temporal.ChronoField.DAY_OF_MONTH;
 
 import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.text.Format;
 import java.text.ParseException;
 import java.text.ParsePosition;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Locale;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import org.threeten.bp.DateTimeException;
+import org.threeten.bp.Instant;
 import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
 import org.threeten.bp.LocalTime;
 import org.threeten.bp.YearMonth;
 import org.threeten.bp.ZoneId;
@@ -147,6 +155,77 @@ public class TestDateTimeFormatter {
         }
     }
 
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_print_charArray() throws Exception {
+        char[] array = new char[10];
+        assertEquals(BASIC_FORMATTER.formatTo(LocalDate.of(2008, 6, 30), array, 2), 5);
+        assertEquals(new String(array, 2, 5), "ONE30");
+        assertEquals(array[1], '\u0000');
+        assertEquals(array[7], '\u0000');
+        assertEquals(DateTimeFormatter.ISO_LOCAL_DATE.formatTo(LocalDate.of(2008, 6, 30), array, 0), 10);
+        assertEquals(new String(array), "2008-06-30");
+    }
+
+    @Test
+    public void test_print_charArray_tooShort() throws Exception {
+        char[] array = new char[6];
+        try {
+            BASIC_FORMATTER.formatTo(LocalDate.of(2008, 6, 30), array, 2);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {
+            assertEquals(array, new char[6]);
+        }
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_print_charArray_badOffset() throws Exception {
+        BASIC_FORMATTER.formatTo(LocalDate.of(2008, 6, 30), new char[6], -1);
+    }
+
+    @Test
+    public void test_print_CharBuffer() throws Exception {
+        CharBuffer buffer = CharBuffer.allocate(10);
+        buffer.put('x');
+        assertEquals(BASIC_FORMATTER.formatTo(LocalDate.of(2008, 6, 30), buffer), 5);
+        assertEquals(buffer.position(), 6);
+        buffer.flip();
+        assertEquals(buffer.toString(), "xONE30");
+    }
+
+    @Test(expectedExceptions=BufferOverflowException.class)
+    public void test_print_CharBuffer_overflow() throws Exception {
+        BASIC_FORMATTER.formatTo(LocalDate.of(2008, 6, 30), CharBuffer.allocate(4));
+    }
+
+    @Test
+    public void test_print_ByteBuffer() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(20);
+        assertEquals(DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(LocalDateTime.of(2008, 6, 30, 11, 30), buffer), 19);
+        assertEquals(new String(buffer.array(), 0, buffer.position(), "ISO-8859-1"), "2008-06-30T11:30:00");
+        buffer.clear();
+        DateTimeFormatter text = DateTimeFormatter.ofPattern("MMMM", Locale.FRENCH);
+        assertEquals(text.formatTo(LocalDate.of(2008, 2, 1), buffer), 7);
+        assertEquals(new String(buffer.array(), 0, buffer.position(), "ISO-8859-1"), text.format(LocalDate.of(2008, 2, 1)));
+    }
+
+    @Test
+    public void test_print_ByteBuffer_notLatin1() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(20);
+        DateTimeFormatter test = DateTimeFormatter.ofPattern("'\u20AC'yyyy");
+        try {
+            test.formatTo(LocalDate.of(2008, 6, 30), buffer);
+            fail();
+        } catch (DateTimeException ex) {
+            assertEquals(buffer.position(), 0);
+        }
+    }
+
+    @Test(expectedExceptions=BufferOverflowException.class)
+    public void test_print_ByteBuffer_overflow() throws Exception {
+        BASIC_FORMATTER.formatTo(LocalDate.of(2008, 6, 30), ByteBuffer.allocate(4));
+    }
+
     //-----------------------------------------------------------------------
     // parse(Class)
     //-----------------------------------------------------------------------
@@ -487,6 +566,147 @@ public class TestDateTimeFormatter {
         BASIC_FORMATTER.toFormat(null);
     }
 
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_parse_bytes() throws Exception {
+        byte[] bytes = "xxONE2012 07 27yy".getBytes("US-ASCII");
+        assertEquals(DATE_FORMATTER.parse(bytes, 2, 13, LocalDate.FROM), LocalDate.of(2012, 7, 27));
+        bytes = "2012-07-27T10:15:30Z".getBytes("US-ASCII");
+        assertEquals(DateTimeFormatter.ISO_INSTANT.parse(bytes, 0, bytes.length, Instant.FROM), Instant.parse("2012-07-27T10:15:30Z"));
+    }
+
+    @Test
+    public void test_parse_bytes_utf8() throws Exception {
+        byte[] bytes = "27 f\u00e9vr. 2012".getBytes("UTF-8");
+        DateTimeFormatter f = DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.FRENCH);
+        LocalDate expected = f.parse("27 f\u00e9vr. 2012", LocalDate.FROM);
+        assertEquals(f.parse(bytes, 0, bytes.length, LocalDate.FROM), expected);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        assertEquals(f.parse(direct, LocalDate.FROM), expected);
+    }
+
+    @Test
+    public void test_parse_bytes_error() throws Exception {
+        byte[] bytes = "ONE2012 07 2X".getBytes("US-ASCII");
+        try {
+            DATE_FORMATTER.parse(bytes, 0, bytes.length, LocalDate.FROM);
+            fail();
+        } catch (DateTimeParseException ex) {
+            assertEquals(ex.getParsedString(), "ONE2012 07 2X");
+            assertEquals(ex.getErrorIndex(), 11);
+        }
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_parse_bytes_badRange() throws Exception {
+        DATE_FORMATTER.parse(new byte[4], 2, 3, LocalDate.FROM);
+    }
+
+    @Test
+    public void test_parse_ByteBuffer() throws Exception {
+        ByteBuffer heap = ByteBuffer.wrap("xxONE2012 07 27yy".getBytes("US-ASCII"));
+        heap.position(2).limit(15);
+        assertEquals(DATE_FORMATTER.parse(heap.slice(), LocalDate.FROM), LocalDate.of(2012, 7, 27));
+        assertEquals(DATE_FORMATTER.parse(heap, LocalDate.FROM), LocalDate.of(2012, 7, 27));
+        assertEquals(heap.position(), 2);
+        ByteBuffer direct = ByteBuffer.allocateDirect(20);
+        direct.put("ONE2012 07 27".getBytes("US-ASCII")).flip();
+        assertEquals(DATE_FORMATTER.parse(direct, LocalDate.FROM), LocalDate.of(2012, 7, 27));
+        assertEquals(direct.position(), 0);
+    }
+
+    //-----------------------------------------------------------------------
+    // tryParse / bulk
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_tryParse() throws Exception {
+        DateTimeParseResult result = new DateTimeParseResult();
+        assertEquals(DATE_FORMATTER.tryParse("ONE2012 07 27", result), true);
+        assertEquals(result.isSuccess(), true);
+        assertEquals(result.getErrorIndex(), -1);
+        assertEquals(result.query(LocalDate.FROM), LocalDate.of(2012, 7, 27));
+
+        assertEquals(DATE_FORMATTER.tryParse("ONE2012 0X 27", result), false);
+        assertEquals(result.isSuccess(), false);
+        assertEquals(result.getErrorIndex(), 8);
+        assertNull(result.getParsed());
+        assertEquals(result.toException().getErrorIndex(), 8);
+
+        assertEquals(DATE_FORMATTER.tryParse("ONE2012 07 27X", result), false);
+        assertEquals(result.getErrorIndex(), 13);
+        assertTrue(result.toException().getMessage().contains("unparsed text found at index 13"));
+
+        assertEquals(DATE_FORMATTER.tryParse("ONE2012 07 32", result), false);
+        assertEquals(result.getErrorIndex(), 0);
+        assertTrue(result.toException().getCause() instanceof DateTimeException);
+
+        assertEquals(DATE_FORMATTER.tryParse("ONE2012 07 28", result), true);
+        assertEquals(result.query(LocalDate.FROM), LocalDate.of(2012, 7, 28));
+    }
+
+    @Test(expectedExceptions=DateTimeParseException.class)
+    public void test_tryParse_queryAfterFailure() throws Exception {
+        DateTimeParseResult result = new DateTimeParseResult();
+        DATE_FORMATTER.tryParse("ONE2012", result);
+        result.query(LocalDate.FROM);
+    }
+
+    @Test(expectedExceptions=IllegalStateException.class)
+    public void test_tryParse_toExceptionAfterSuccess() throws Exception {
+        DateTimeParseResult result = new DateTimeParseResult();
+        DATE_FORMATTER.tryParse("ONE2012 07 27", result);
+        result.toException();
+    }
+
+    @Test
+    public void test_parseEpochDays() throws Exception {
+        long[] epochDays = new long[5];
+        BitSet failures = new BitSet();
+        failures.set(1);
+        int failed = DATE_FORMATTER.parseEpochDays(
+                Arrays.asList("ONE2012 07 27", "ONE1970 01 01", "ONE2012 07 32", null, "bad"), epochDays, failures);
+        assertEquals(failed, 3);
+        assertEquals(epochDays[0], LocalDate.of(2012, 7, 27).toEpochDay());
+        assertEquals(epochDays[1], 0L);
+        assertEquals(failures.get(0), false);
+        assertEquals(failures.get(1), false);
+        assertEquals(failures.get(2), true);
+        assertEquals(failures.get(3), true);
+        assertEquals(failures.get(4), true);
+    }
+
+    @Test
+    public void test_parseEpochDays_notDate() throws Exception {
+        long[] epochDays = new long[1];
+        BitSet failures = new BitSet();
+        assertEquals(BASIC_FORMATTER.parseEpochDays(Arrays.asList("ONE30"), epochDays, failures), 1);
+        assertEquals(failures.get(0), true);
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_parseEpochDays_tooShort() throws Exception {
+        DATE_FORMATTER.parseEpochDays(Arrays.asList("ONE2012 07 27", "ONE2012 07 28"), new long[1], new BitSet());
+    }
+
+    @Test
+    public void test_parseInstants() throws Exception {
+        long[] secs = new long[3];
+        int[] nanos = new int[3];
+        BitSet failures = new BitSet();
+        int failed = DateTimeFormatter.ISO_INSTANT.parseInstants(
+                Arrays.asList("2012-07-27T10:15:30.123Z", "2012-07-27", "1970-01-01T00:00:00Z"), secs, nanos, failures);
+        Instant expected = Instant.parse("2012-07-27T10:15:30.123Z");
+        assertEquals(failed, 1);
+        assertEquals(secs[0], expected.getEpochSecond());
+        assertEquals(nanos[0], 123000000);
+        assertEquals(secs[1], 0L);
+        assertEquals(secs[2], 0L);
+        assertEquals(failures.get(0), false);
+        assertEquals(failures.get(1), true);
+        assertEquals(failures.get(2), false);
+    }
+
     //-------------------------------------------------------------------------
     public void test_parse_allZones() throws Exception {
         for (String zoneStr : ZoneId.getAvailableZoneIds()) {
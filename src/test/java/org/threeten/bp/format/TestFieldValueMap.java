@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.threeten.bp.temporal.ChronoField.DAY_OF_MONTH;
+import static org.threeten.bp.temporal.ChronoField.MONTH_OF_YEAR;
+import static org.threeten.bp.temporal.ChronoField.YEAR;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.temporal.IsoFields;
+import org.threeten.bp.temporal.TemporalField;
+
+/**
+ * Test FieldValueMap.
+ */
+@Test
+public class TestFieldValueMap {
+
+    @Test
+    public void test_primitive() {
+        FieldValueMap test = new FieldValueMap();
+        assertEquals(test.containsField(YEAR), false);
+        assertEquals(test.putValue(YEAR, 2012), false);
+        assertEquals(test.putValue(YEAR, 2012), false);
+        assertEquals(test.putValue(IsoFields.QUARTER_OF_YEAR, 2), false);
+        assertEquals(test.containsField(YEAR), true);
+        assertEquals(test.containsField(IsoFields.QUARTER_OF_YEAR), true);
+        assertEquals(test.getValue(YEAR), 2012L);
+        assertEquals(test.getValue(IsoFields.QUARTER_OF_YEAR), 2L);
+        assertEquals(test.putValue(YEAR, 2013), true);
+        assertEquals(test.putValue(IsoFields.QUARTER_OF_YEAR, 3), true);
+        assertEquals(test.removeValue(YEAR), 2013L);
+        assertEquals(test.containsField(YEAR), false);
+        assertEquals(test.size(), 1);
+    }
+
+    @Test
+    public void test_map() {
+        FieldValueMap test = new FieldValueMap();
+        Map<TemporalField, Long> expected = new HashMap<TemporalField, Long>();
+        test.put(MONTH_OF_YEAR, 6L);
+        test.put(YEAR, Long.MIN_VALUE);
+        test.put(IsoFields.WEEK_OF_WEEK_BASED_YEAR, 4L);
+        expected.put(MONTH_OF_YEAR, 6L);
+        expected.put(YEAR, Long.MIN_VALUE);
+        expected.put(IsoFields.WEEK_OF_WEEK_BASED_YEAR, 4L);
+        assertEquals(test, expected);
+        assertEquals(expected, test);
+        assertEquals(test.hashCode(), expected.hashCode());
+        assertEquals(test.get(YEAR), Long.valueOf(Long.MIN_VALUE));
+        assertEquals(test.get(DAY_OF_MONTH), null);
+        assertEquals(test.remove(MONTH_OF_YEAR), Long.valueOf(6L));
+        assertEquals(test.remove(MONTH_OF_YEAR), null);
+        assertEquals(test.toString(), "{Year=" + Long.MIN_VALUE + ", WeekOfWeekBasedYear=4}");
+        test.clear();
+        assertEquals(test.isEmpty(), true);
+    }
+
+    @Test
+    public void test_iterator_remove() {
+        FieldValueMap test = new FieldValueMap();
+        test.putValue(YEAR, 2012);
+        test.putValue(DAY_OF_MONTH, 3);
+        test.putValue(IsoFields.QUARTER_OF_YEAR, 2);
+        Iterator<Entry<TemporalField, Long>> it = test.entrySet().iterator();
+        int count = 0;
+        while (it.hasNext()) {
+            Entry<TemporalField, Long> entry = it.next();
+            if (entry.getKey() != DAY_OF_MONTH) {
+                it.remove();
+            }
+            count++;
+        }
+        assertEquals(count, 3);
+        assertEquals(test.size(), 1);
+        assertEquals(test.getValue(DAY_OF_MONTH), 3L);
+    }
+
+    @Test
+    public void test_entry_setValue() {
+        FieldValueMap test = new FieldValueMap();
+        test.putValue(YEAR, 2012);
+        test.entrySet().iterator().next().setValue(2014L);
+        assertEquals(test.getValue(YEAR), 2014L);
+    }
+
+    @Test
+    public void test_putAll_copy() {
+        FieldValueMap base = new FieldValueMap();
+        base.putValue(YEAR, 2012);
+        base.putValue(IsoFields.QUARTER_OF_YEAR, 2);
+        FieldValueMap test = new FieldValueMap();
+        test.putAll(base);
+        base.putValue(YEAR, 2013);
+        base.putValue(IsoFields.QUARTER_OF_YEAR, 3);
+        assertEquals(test.getValue(YEAR), 2012L);
+        assertEquals(test.getValue(IsoFields.QUARTER_OF_YEAR), 2L);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_put_nullValue() {
+        new FieldValueMap().put(YEAR, null);
+    }
+
+}
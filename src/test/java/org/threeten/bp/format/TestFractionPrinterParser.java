@@ -33,9 +33,12 @@ package org.threeten.bp.format;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.fail;
+import static org.threeten.bp.temporal.ChronoField.MILLI_OF_SECOND;
 import static org.threeten.bp.temporal.ChronoField.NANO_OF_SECOND;
 import static org.threeten.bp.temporal.ChronoField.SECOND_OF_MINUTE;
 
+import java.util.Locale;
+
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.threeten.bp.DateTimeException;
@@ -212,6 +215,46 @@ public class TestFractionPrinterParser extends AbstractTestPrinterParser {
         assertEquals(buf.toString(), (result.startsWith(".") ? result.substring(1) : result));
     }
 
+    //-----------------------------------------------------------------------
+    @DataProvider(name="Millis")
+    Object[][] provider_millis() {
+        return new Object[][] {
+            {0, 9, 0,   ""},
+            {0, 9, 1,   ".001"},
+            {0, 9, 10,  ".01"},
+            {0, 9, 120, ".12"},
+            {0, 9, 999, ".999"},
+
+            {1, 1, 0,   ".0"},
+            {1, 1, 999, ".9"},
+            {6, 9, 1,   ".001000"},
+            {6, 9, 999, ".999000"},
+        };
+    }
+
+    @Test(dataProvider="Millis")
+    public void test_print_millis(int minWidth, int maxWidth, int value, String result) throws Exception {
+        printContext.setDateTime(new MockFieldValue(MILLI_OF_SECOND, value));
+        FractionPrinterParser pp = new FractionPrinterParser(MILLI_OF_SECOND, minWidth, maxWidth, true);
+        pp.print(printContext, buf);
+        assertEquals(buf.toString(), result);
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_print_millis_outOfRange() throws Exception {
+        printContext.setDateTime(new MockFieldValue(MILLI_OF_SECOND, 1000));
+        FractionPrinterParser pp = new FractionPrinterParser(MILLI_OF_SECOND, 0, 9, true);
+        pp.print(printContext, buf);
+    }
+
+    public void test_print_nanos_zeroDigit() throws Exception {
+        DecimalStyle symbols = DecimalStyle.STANDARD.withZeroDigit('A').withDecimalSeparator(',');
+        DateTimePrintContext context = new DateTimePrintContext(new MockFieldValue(NANO_OF_SECOND, 120000000), Locale.ENGLISH, symbols);
+        FractionPrinterParser pp = new FractionPrinterParser(NANO_OF_SECOND, 3, 9, true);
+        pp.print(context, buf);
+        assertEquals(buf.toString(), ",BCA");
+    }
+
     //-----------------------------------------------------------------------
     // parse
     //-----------------------------------------------------------------------
@@ -276,6 +319,22 @@ public class TestFractionPrinterParser extends AbstractTestPrinterParser {
         assertParsed(parseContext, SECOND_OF_MINUTE, value == 0 && minWidth == 0 ? null : (long) value);
     }
 
+    @Test(dataProvider="Millis")
+    public void test_reverseParse_millis(int minWidth, int maxWidth, int value, String result) throws Exception {
+        FractionPrinterParser pp = new FractionPrinterParser(MILLI_OF_SECOND, minWidth, maxWidth, true);
+        int newPos = pp.parse(parseContext, result, 0);
+        assertEquals(newPos, result.length());
+        int expectedValue = (maxWidth < 3 ? value / 100 * 100 : value);
+        assertParsed(parseContext, MILLI_OF_SECOND, value == 0 && minWidth == 0 ? null : (long) expectedValue);
+    }
+
+    public void test_parse_millis_extraDigits() throws Exception {
+        FractionPrinterParser pp = new FractionPrinterParser(MILLI_OF_SECOND, 0, 9, true);
+        int newPos = pp.parse(parseContext, ".123999999", 0);
+        assertEquals(newPos, 10);
+        assertParsed(parseContext, MILLI_OF_SECOND, 123L);
+    }
+
     private void assertParsed(DateTimeParseContext context, TemporalField field, Long value) {
         if (value == null) {
             assertEquals(context.getParsed(field), null);
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.threeten.bp.Instant;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.OffsetDateTime;
+
+/**
+ * Test IsoFastParser.
+ */
+@Test
+public class TestIsoFastParser {
+
+    @DataProvider(name="localDateTime")
+    Object[][] data_localDateTime() {
+        return new Object[][] {
+            {"2012-07-27T10:15"},
+            {"2012-07-27T10:15:30"},
+            {"2012-07-27t10:15:30"},
+            {"0000-01-01T00:00:00.1"},
+            {"9999-12-31T23:59:59.999999999"},
+            {"2012-02-29T10:15:30.12345"},
+            {"2012-07-27T10:15:30.000"},
+        };
+    }
+
+    @Test(dataProvider="localDateTime")
+    public void test_parseLocalDateTime(String text) {
+        LocalDateTime expected = LocalDateTime.FROM.queryFrom(DateTimeFormatter.ISO_LOCAL_DATE_TIME.parse(text));
+        assertEquals(IsoFastParser.parseLocalDateTime(text), expected);
+        assertEquals(LocalDateTime.parse(text), expected);
+    }
+
+    @DataProvider(name="offsetDateTime")
+    Object[][] data_offsetDateTime() {
+        return new Object[][] {
+            {"2012-07-27T10:15Z"},
+            {"2012-07-27T10:15:30z"},
+            {"2012-07-27T10:15:30+01:00"},
+            {"2012-07-27T10:15:30.123-05:30"},
+            {"2012-07-27T10:15:30-00:00"},
+            {"2012-07-27T10:15:30+18:00"},
+            {"2012-07-27T10:15:30.987654321-18:00"},
+        };
+    }
+
+    @Test(dataProvider="offsetDateTime")
+    public void test_parseOffsetDateTime(String text) {
+        OffsetDateTime expected = OffsetDateTime.FROM.queryFrom(DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(text));
+        assertEquals(IsoFastParser.parseOffsetDateTime(text), expected);
+        assertEquals(OffsetDateTime.parse(text), expected);
+    }
+
+    @DataProvider(name="instant")
+    Object[][] data_instant() {
+        return new Object[][] {
+            {"2012-07-27T10:15:30Z"},
+            {"2012-07-27T10:15:30.1z"},
+            {"1969-12-31T23:59:59.999999999Z"},
+            {"0000-01-01T00:00:00Z"},
+            {"9999-12-31T23:59:59.5Z"},
+        };
+    }
+
+    @Test(dataProvider="instant")
+    public void test_parseInstant(String text) {
+        Instant expected = Instant.FROM.queryFrom(DateTimeFormatter.ISO_INSTANT.parse(text));
+        assertEquals(IsoFastParser.parseInstant(text), expected);
+        assertEquals(Instant.parse(text), expected);
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="irregular")
+    Object[][] data_irregular() {
+        return new Object[][] {
+            {"2012-07-27"},
+            {"2012-07-27T10"},
+            {"2012-07-27T10:1"},
+            {"2012-07-27 10:15:30"},
+            {"+2012-07-27T10:15:30"},
+            {"12012-07-27T10:15:30"},
+            {"2012-7-27T10:15:30Z"},
+            {"2012-07-27T10:15:3"},
+            {"2012-07-27T10:15:30."},
+            {"2012-07-27T10:15:30.1234567890"},
+            {"2012-07-27T10:15:30.12a"},
+            {"2012-07-27T24:00:00"},
+            {"2012-07-27T23:59:60"},
+            {"2012-07-27T23:60:00"},
+            {"2012-00-27T10:15:30"},
+            {"2012-13-27T10:15:30"},
+            {"2012-07-00T10:15:30"},
+            {"2012-02-30T10:15:30"},
+            {"2011-02-29T10:15:30"},
+            {"2012-04-31T10:15:30"},
+            {"2012-07-27T10:15:30+01"},
+            {"2012-07-27T10:15:30+0100"},
+            {"2012-07-27T10:15:30+01:00:30"},
+            {"2012-07-27T10:15:30+19:00"},
+            {"2012-07-27T10:15:30+18:01"},
+            {"2012-07-27T10:15:30*01:00"},
+        };
+    }
+
+    @Test(dataProvider="irregular")
+    public void test_irregular(String text) {
+        String instantText = text.endsWith("Z") ? text : text + "Z";
+        assertNull(IsoFastParser.parseLocalDateTime(text));
+        assertNull(IsoFastParser.parseOffsetDateTime(text.length() > 19 ? text : text + "Z"));
+        assertNull(IsoFastParser.parseInstant(instantText));
+    }
+
+    @Test
+    public void test_instant_requiresSeconds() {
+        assertNull(IsoFastParser.parseInstant("2012-07-27T10:15Z"));
+    }
+
+    @Test
+    public void test_fallback_leapSecond() {
+        assertEquals(Instant.parse("2012-06-30T23:59:60Z"), Instant.parse("2012-06-30T23:59:59Z"));
+    }
+
+    @Test(expectedExceptions=DateTimeParseException.class)
+    public void test_fallback_error() {
+        LocalDateTime.parse("2012-02-30T10:15:30");
+    }
+
+}
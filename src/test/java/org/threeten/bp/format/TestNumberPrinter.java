@@ -36,6 +36,8 @@ import static org.testng.Assert.fail;
 import static org.threeten.bp.temporal.ChronoField.DAY_OF_MONTH;
 import static org.threeten.bp.temporal.ChronoField.HOUR_OF_DAY;
 
+import java.util.Locale;
+
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.threeten.bp.DateTimeException;
@@ -64,6 +66,23 @@ public class TestNumberPrinter extends AbstractTestPrinterParser {
         assertEquals(buf.toString(), "EXISTING3");
     }
 
+    public void test_print_zeroDigit() throws Exception {
+        DecimalStyle style = DecimalStyle.STANDARD.withZeroDigit('\u0660');
+        DateTimePrintContext context = new DateTimePrintContext(new MockFieldValue(DAY_OF_MONTH, 907), Locale.ENGLISH, style);
+        NumberPrinterParser pp = new NumberPrinterParser(DAY_OF_MONTH, 5, 10, SignStyle.NORMAL);
+        pp.print(context, buf);
+        assertEquals(buf.toString(), "\u0660\u0660\u0669\u0660\u0667");
+    }
+
+    public void test_print_longExtremes() throws Exception {
+        NumberPrinterParser pp = new NumberPrinterParser(DAY_OF_MONTH, 1, 19, SignStyle.NORMAL);
+        printContext.setDateTime(new MockFieldValue(DAY_OF_MONTH, Long.MAX_VALUE));
+        pp.print(printContext, buf);
+        printContext.setDateTime(new MockFieldValue(DAY_OF_MONTH, Long.MIN_VALUE));
+        pp.print(printContext, buf);
+        assertEquals(buf.toString(), "9223372036854775807-9223372036854775808");
+    }
+
     //-----------------------------------------------------------------------
     @DataProvider(name="Pad")
     Object[][] provider_pad() {
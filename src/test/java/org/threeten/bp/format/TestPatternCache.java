@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Locale;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test PatternCache.
+ */
+@Test
+public class TestPatternCache {
+
+    @AfterMethod
+    public void tearDown() {
+        DateTimeFormatter.setPatternCacheSize(0);
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_get() {
+        PatternCache test = new PatternCache(4);
+        DateTimeFormatter f = test.get("yyyy-MM-dd", Locale.ENGLISH);
+        assertEquals(f.toString(), DateTimeFormatter.ofPattern("yyyy-MM-dd", Locale.ENGLISH).toString());
+        assertEquals(f.getLocale(), Locale.ENGLISH);
+        assertSame(test.get("yyyy-MM-dd", Locale.ENGLISH), f);
+        assertNotSame(test.get("yyyy-MM-dd", Locale.FRENCH), f);
+        assertEquals(test.getHitCount(), 1);
+        assertEquals(test.getMissCount(), 2);
+        assertEquals(test.size(), 2);
+    }
+
+    @Test
+    public void test_evictLeastRecentlyUsed() {
+        PatternCache test = new PatternCache(2);
+        DateTimeFormatter a = test.get("yyyy", Locale.ENGLISH);
+        DateTimeFormatter b = test.get("MM", Locale.ENGLISH);
+        assertSame(test.get("yyyy", Locale.ENGLISH), a);
+        test.get("dd", Locale.ENGLISH);
+        assertEquals(test.size(), 2);
+        assertSame(test.get("yyyy", Locale.ENGLISH), a);
+        assertNotSame(test.get("MM", Locale.ENGLISH), b);
+        assertEquals(test.size(), 2);
+    }
+
+    @Test
+    public void test_evictBatch() {
+        PatternCache test = new PatternCache(16);
+        DateTimeFormatter first = test.get("'0'", Locale.ENGLISH);
+        for (int i = 1; i < 16; i++) {
+            test.get("'" + i + "'", Locale.ENGLISH);
+            assertSame(test.get("'0'", Locale.ENGLISH), first);
+        }
+        assertEquals(test.size(), 16);
+        test.get("'16'", Locale.ENGLISH);
+        // an eighth of the maximum size is freed, keeping the recently used entry
+        assertEquals(test.size(), 14);
+        assertSame(test.get("'0'", Locale.ENGLISH), first);
+        assertEquals(test.getHitCount(), 16);
+        assertEquals(test.getMissCount(), 17);
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_get_invalidPattern() {
+        PatternCache test = new PatternCache(2);
+        try {
+            test.get("yyyy{", Locale.ENGLISH);
+        } finally {
+            assertEquals(test.size(), 0);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_ofPattern_cacheEnabled() {
+        // other test classes may use ofPattern concurrently, so the size is large and counts are minimums
+        String pattern = "'TestPatternCache'yyyy";
+        assertEquals(DateTimeFormatter.getPatternCacheSize(), 0);
+        assertNotSame(DateTimeFormatter.ofPattern(pattern, Locale.ENGLISH), DateTimeFormatter.ofPattern(pattern, Locale.ENGLISH));
+        DateTimeFormatter.setPatternCacheSize(100000);
+        assertEquals(DateTimeFormatter.getPatternCacheSize(), 100000);
+        DateTimeFormatter f = DateTimeFormatter.ofPattern(pattern, Locale.ENGLISH);
+        assertSame(DateTimeFormatter.ofPattern(pattern, Locale.ENGLISH), f);
+        assertSame(DateTimeFormatter.ofPattern(pattern, Locale.ENGLISH), f);
+        assertTrue(DateTimeFormatter.getPatternCacheHitCount() >= 2);
+        assertTrue(DateTimeFormatter.getPatternCacheMissCount() >= 1);
+        DateTimeFormatter.setPatternCacheSize(0);
+        assertEquals(DateTimeFormatter.getPatternCacheSize(), 0);
+        assertEquals(DateTimeFormatter.getPatternCacheHitCount(), 0);
+        assertNotSame(DateTimeFormatter.ofPattern(pattern, Locale.ENGLISH), f);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_ofPattern_cacheEnabled_nullPattern() {
+        DateTimeFormatter.setPatternCacheSize(16);
+        DateTimeFormatter.ofPattern(null, Locale.ENGLISH);
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_setPatternCacheSize_negative() {
+        DateTimeFormatter.setPatternCacheSize(-1);
+    }
+
+}
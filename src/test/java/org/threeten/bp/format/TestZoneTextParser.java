@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.format;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.testng.annotations.Test;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.format.DateTimeFormatterBuilder.ZoneTextPrinterParser;
+
+/**
+ * Test ZoneTextPrinterParser.
+ */
+@Test
+public class TestZoneTextParser extends AbstractTestPrinterParser {
+
+    private static final String AMERICA_DENVER = "America/Denver";
+    private static final ZoneId TIME_ZONE_DENVER = ZoneId.of(AMERICA_DENVER);
+
+    //-----------------------------------------------------------------------
+    public void test_parse_id() throws Exception {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.FULL);
+        int result = pp.parse(parseContext, AMERICA_DENVER, 0);
+        assertEquals(result, AMERICA_DENVER.length());
+        assertParsed(TIME_ZONE_DENVER);
+    }
+
+    public void test_parse_id_longestMatch() throws Exception {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.FULL);
+        int result = pp.parse(parseContext, "OTHERAmerica/Indiana/IndianapolisOTHER", 5);
+        assertEquals(result, 5 + "America/Indiana/Indianapolis".length());
+        assertParsed(ZoneId.of("America/Indiana/Indianapolis"));
+    }
+
+    public void test_parse_fullName() throws Exception {
+        String name = TimeZone.getTimeZone("Asia/Tokyo").getDisplayName(false, TimeZone.LONG, Locale.ENGLISH);
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.FULL);
+        int result = pp.parse(parseContext, name + "OTHER", 0);
+        assertEquals(result, name.length());
+        assertEquals(TimeZone.getTimeZone(parseContext.toParsed().zone.getId()).getDisplayName(false, TimeZone.LONG, Locale.ENGLISH), name);
+    }
+
+    public void test_parse_lowerCase() throws Exception {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.SHORT);
+        parseContext.setCaseSensitive(false);
+        int result = pp.parse(parseContext, "europe/london", 0);
+        assertEquals(result, 13);
+        assertParsed(ZoneId.of("Europe/London"));
+    }
+
+    public void test_parse_noMatch() throws Exception {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.FULL);
+        int result = pp.parse(parseContext, "OTHER~Bogusville", 5);
+        assertEquals(result, ~5);
+        assertParsed(null);
+    }
+
+    public void test_parse_endOfText() throws Exception {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.FULL);
+        int result = pp.parse(parseContext, "OTHER", 5);
+        assertEquals(result, ~5);
+        assertParsed(null);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_toString() {
+        ZoneTextPrinterParser pp = new ZoneTextPrinterParser(TextStyle.SHORT);
+        assertEquals(pp.toString(), "ZoneText(SHORT)");
+    }
+
+    private void assertParsed(ZoneId expectedZone) {
+        assertEquals(parseContext.toParsed().zone, expectedZone);
+    }
+
+}
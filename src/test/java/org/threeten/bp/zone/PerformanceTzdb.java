@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.zone;
+
+import java.io.ByteArrayInputStream;
+import java.text.NumberFormat;
+
+/**
+ * Test Performance of loading the TZDB file formats.
+ */
+public class PerformanceTzdb {
+
+    /** Size. */
+    private static final NumberFormat NF = NumberFormat.getIntegerInstance();
+    static {
+        NF.setGroupingUsed(true);
+    }
+    /** Size. */
+    private static final int SIZE = 50;
+
+    /**
+     * Main.
+     * @param args  the arguments
+     */
+    public static void main(String[] args) throws Exception {
+        byte[] format1 = TestTzdbZoneRulesProvider.encode(1);
+        byte[] format2 = TestTzdbZoneRulesProvider.encode(2);
+        System.out.println("Format 1: Size:  " + NF.format(format1.length) + " bytes");
+        System.out.println("Format 2: Size:  " + NF.format(format2.length) + " bytes");
+
+        for (int i = 0; i < 6; i++) {
+            load("Format 1", format1);
+            load("Format 2", format2);
+            System.out.println();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    private static void load(String name, byte[] bytes) {
+        int count = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < SIZE; i++) {
+            TzdbZoneRulesProvider provider = new TzdbZoneRulesProvider(new ByteArrayInputStream(bytes));
+            for (String zoneId : provider.provideZoneIds()) {
+                count += provider.provideRules(zoneId, true).isFixedOffset() ? 1 : 0;
+            }
+        }
+        long end = System.nanoTime();
+        System.out.println(name + ": Load:  " + NF.format((end - start) / SIZE) + " ns " + count);
+    }
+
+}
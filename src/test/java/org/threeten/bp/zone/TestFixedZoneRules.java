@@ -40,6 +40,7 @@ import java.io.ObjectOutputStream;
 
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+import org.threeten.bp.DateTimeException;
 import org.threeten.bp.Duration;
 import org.threeten.bp.Instant;
 import org.threeten.bp.LocalDateTime;
@@ -90,6 +91,7 @@ public class TestFixedZoneRules {
 
         assertEquals(result, test);
         assertEquals(result.getClass(), test.getClass());
+        assertEquals(result.getValidOffsets(null), test.getValidOffsets(null));
     }
 
     //-----------------------------------------------------------------------
@@ -116,6 +118,35 @@ public class TestFixedZoneRules {
         assertEquals(test.getOffset((Instant) null), expectedOffset);
     }
 
+    @Test(dataProvider="rules")
+    public void test_getOffsetSeconds(ZoneRules test, ZoneOffset expectedOffset) {
+        long[] epochSecs = {INSTANT.getEpochSecond(), -1, 0, 1};
+        int[] offsetSecs = new int[5];
+        test.getOffsetSeconds(epochSecs, offsetSecs);
+        int expected = expectedOffset.getTotalSeconds();
+        assertEquals(offsetSecs, new int[] {expected, expected, expected, expected, 0});
+        offsetSecs = new int[4];
+        test.getOffsetSecondsOfEpochMillis(epochSecs, offsetSecs);
+        assertEquals(offsetSecs, new int[] {expected, expected, expected, expected});
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_getOffsetSeconds_outsideInstantRange() {
+        make(OFFSET_PONE).getOffsetSeconds(new long[] {0, Instant.MAX.getEpochSecond() + 1}, new int[2]);
+    }
+
+    @Test
+    public void test_getOffsetSecondsOfEpochMillis_extremes() {
+        int[] offsetSecs = new int[2];
+        make(OFFSET_PONE).getOffsetSecondsOfEpochMillis(new long[] {Long.MIN_VALUE, Long.MAX_VALUE}, offsetSecs);
+        assertEquals(offsetSecs, new int[] {3600, 3600});
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_getOffsetSeconds_tooShort() {
+        make(OFFSET_PONE).getOffsetSeconds(new long[2], new int[1]);
+    }
+
     @Test(dataProvider="rules")
     public void test_getOffset_LocalDateTime(ZoneRules test, ZoneOffset expectedOffset) {
         assertEquals(test.getOffset(LDT), expectedOffset);
@@ -35,16 +35,23 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+import org.threeten.bp.DateTimeException;
 import org.threeten.bp.DayOfWeek;
 import org.threeten.bp.Duration;
 import org.threeten.bp.Instant;
@@ -433,6 +440,23 @@ public class TestStandardZoneRules {
         }
     }
 
+    public void test_London_nextTransition_rulesBased_farFuture() {
+        ZoneRules test = europeLondon();
+        List<ZoneOffsetTransitionRule> rules = test.getTransitionRules();
+
+        // years sharing cache slots, checked repeatedly to ensure replaced entries are correct
+        for (int i = 0; i < 3; i++) {
+            for (int year = 2990; year < 3100; year += 8) {
+                ZoneOffsetTransition a = rules.get(0).createTransition(year);
+                ZoneOffsetTransition b = rules.get(1).createTransition(year);
+                assertEquals(test.nextTransition(a.getInstant()), b);
+                assertEquals(test.nextTransition(a.getInstant().minusNanos(1)), a);
+                assertEquals(test.getOffset(a.getInstant()), OFFSET_PONE);
+                assertEquals(test.getOffset(b.getInstant()), OFFSET_ZERO);
+            }
+        }
+    }
+
     public void test_London_nextTransition_lastYear() {
         ZoneRules test = europeLondon();
         List<ZoneOffsetTransitionRule> rules = test.getTransitionRules();
@@ -858,6 +882,27 @@ public class TestStandardZoneRules {
         assertEquals(trans.hashCode(), otherTrans.hashCode());
     }
 
+    public void test_NewYork_getValidOffsets_shared() {
+        ZoneRules test = americaNewYork();
+        LocalDateTime dateTime = LocalDateTime.of(1990, 6, 1, 12, 0);
+        assertSame(test.getValidOffsets(dateTime), test.getValidOffsets(dateTime.plusDays(1)));
+        assertEquals(test.getValidOffsets(dateTime), Collections.singletonList(ZoneOffset.ofHours(-4)));
+        dateTime = LocalDateTime.of(2090, 6, 1, 12, 0);
+        assertSame(test.getValidOffsets(dateTime), test.getValidOffsets(dateTime.plusDays(1)));
+        assertEquals(test.getValidOffsets(dateTime), Collections.singletonList(ZoneOffset.ofHours(-4)));
+    }
+
+    public void test_NewYork_getTransition_historic_shared() {
+        ZoneRules test = americaNewYork();
+        LocalDateTime gap = LocalDateTime.of(1990, 4, 1, 2, 30);
+        LocalDateTime overlap = LocalDateTime.of(1990, 10, 28, 1, 30);
+        assertSame(test.getTransition(gap), test.getTransition(gap.plusMinutes(1)));
+        assertSame(test.getTransition(overlap), test.getTransition(overlap.plusMinutes(1)));
+        assertSame(test.getTransition(gap), test.nextTransition(createInstant(1990, 1, 1, ZoneOffset.UTC)));
+        assertEquals(test.getTransition(gap).isGap(), true);
+        assertEquals(test.getTransition(overlap).isOverlap(), true);
+    }
+
     public void test_NewYork_getStandardOffset() {
         ZoneRules test = americaNewYork();
         ZonedDateTime dateTime = createZDT(1860, 1, 1, ZoneOffset.UTC);
@@ -903,6 +948,157 @@ public class TestStandardZoneRules {
         assertEquals(test.nextTransition(last.getInstant()), null);
     }
 
+    //-----------------------------------------------------------------------
+    // getOffset(Instant) around transitions, for all zones
+    //-----------------------------------------------------------------------
+    public void test_getOffset_Instant_allZones() {
+        Instant start = createInstant(1900, 1, 1, ZoneOffset.UTC);
+        Instant end = createInstant(2120, 1, 1, ZoneOffset.UTC);
+        for (String id : ZoneRulesProvider.getAvailableZoneIds()) {
+            ZoneRules test = ZoneRulesProvider.getRules(id, false);
+            ZoneOffsetTransition trans = test.nextTransition(start);
+            while (trans != null && trans.getInstant().isBefore(end)) {
+                Instant instant = trans.getInstant();
+                assertEquals(test.getOffset(instant.minusSeconds(1)), trans.getOffsetBefore(), id + " " + trans);
+                assertEquals(test.getOffset(instant), trans.getOffsetAfter(), id + " " + trans);
+                ZoneOffsetTransition next = test.nextTransition(instant);
+                if (next != null) {
+                    long mid = (instant.getEpochSecond() + next.toEpochSecond()) / 2;
+                    assertEquals(test.getOffset(Instant.ofEpochSecond(mid)), trans.getOffsetAfter(), id + " " + trans);
+                }
+                trans = next;
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // getOffsetSeconds()
+    //-----------------------------------------------------------------------
+    public void test_getOffsetSeconds_allZones() {
+        long start = createInstant(1800, 1, 1, ZoneOffset.UTC).getEpochSecond();
+        long end = createInstant(2200, 1, 1, ZoneOffset.UTC).getEpochSecond();
+        Random random = new Random(1);
+        long[] sorted = new long[5000];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = start + (end - start) / sorted.length * i + random.nextInt(86400);
+        }
+        long[] shuffled = sorted.clone();
+        for (int i = shuffled.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long temp = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = temp;
+        }
+        for (String id : ZoneRulesProvider.getAvailableZoneIds()) {
+            ZoneRules test = ZoneRulesProvider.getRules(id, false);
+            assertOffsetSeconds(test, sorted, id);
+            assertOffsetSeconds(test, shuffled, id);
+        }
+    }
+
+    public void test_getOffsetSeconds_transitions() {
+        ZoneRules test = europeLondon();
+        List<Long> list = new ArrayList<Long>();
+        ZoneOffsetTransition trans = test.nextTransition(createInstant(1900, 1, 1, ZoneOffset.UTC));
+        while (trans.getInstant().isBefore(createInstant(2100, 1, 1, ZoneOffset.UTC))) {
+            list.add(trans.toEpochSecond() - 1);
+            list.add(trans.toEpochSecond());
+            trans = test.nextTransition(trans.getInstant());
+        }
+        long[] epochSecs = new long[list.size()];
+        for (int i = 0; i < epochSecs.length; i++) {
+            epochSecs[i] = list.get(i);
+        }
+        assertOffsetSeconds(test, epochSecs, "Europe/London");
+    }
+
+    public void test_getOffsetSecondsOfEpochMillis() {
+        ZoneRules test = europeLondon();
+        long trans = createInstant(2008, 3, 30, 1, 0, 0, 0, ZoneOffset.UTC).toEpochMilli();
+        long[] epochMillis = {trans - 1001, trans - 1, trans, trans + 999, -1, 0};
+        int[] offsetSecs = new int[epochMillis.length];
+        test.getOffsetSecondsOfEpochMillis(epochMillis, offsetSecs);
+        assertEquals(offsetSecs, new int[] {0, 0, 3600, 3600, 3600, 3600});
+    }
+
+    @Test(expectedExceptions=IllegalArgumentException.class)
+    public void test_getOffsetSeconds_tooShort() {
+        europeLondon().getOffsetSeconds(new long[2], new int[1]);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_getOffsetSeconds_null() {
+        europeLondon().getOffsetSeconds(null, new int[1]);
+    }
+
+    @DataProvider(name="outsideInstantRange")
+    Object[][] data_outsideInstantRange() {
+        // Europe/London has last rules, Asia/Kolkata does not
+        return new Object[][] {
+            {"Europe/London", Long.MIN_VALUE},
+            {"Europe/London", Long.MAX_VALUE},
+            {"Europe/London", Instant.MIN.getEpochSecond() - 1},
+            {"Europe/London", Instant.MAX.getEpochSecond() + 1},
+            {"Asia/Kolkata", Long.MIN_VALUE},
+            {"Asia/Kolkata", Long.MAX_VALUE},
+            {"Asia/Kolkata", Instant.MIN.getEpochSecond() - 1},
+            {"Asia/Kolkata", Instant.MAX.getEpochSecond() + 1},
+        };
+    }
+
+    @Test(dataProvider="outsideInstantRange")
+    public void test_getOffsetSeconds_outsideInstantRange(String id, long epochSec) {
+        ZoneRules test = ZoneRulesProvider.getRules(id, false);
+        try {
+            test.getOffsetSeconds(new long[] {0, epochSec}, new int[2]);
+            fail();
+        } catch (DateTimeException ex) {
+            assertEquals(ex.getMessage(), "Instant exceeds minimum or maximum instant");
+        }
+    }
+
+    @DataProvider(name="instantRangeEnds")
+    Object[][] data_instantRangeEnds() {
+        return new Object[][] {
+            {"Europe/London", Instant.MIN.getEpochSecond()},
+            {"Europe/London", Instant.MIN.getEpochSecond() + 1},
+            {"Europe/London", Instant.MAX.getEpochSecond()},
+            {"Europe/London", Instant.MAX.getEpochSecond() - 1},
+            {"Asia/Kolkata", Instant.MIN.getEpochSecond()},
+            {"Asia/Kolkata", Instant.MIN.getEpochSecond() + 1},
+            {"Asia/Kolkata", Instant.MAX.getEpochSecond()},
+            {"Asia/Kolkata", Instant.MAX.getEpochSecond() - 1},
+        };
+    }
+
+    @Test(dataProvider="instantRangeEnds")
+    public void test_getOffsetSeconds_instantRangeEnds(String id, long epochSec) {
+        // the bulk lookup matches the scalar lookup, including when it throws
+        ZoneRules test = ZoneRulesProvider.getRules(id, false);
+        Integer expected;
+        try {
+            expected = test.getOffset(Instant.ofEpochSecond(epochSec)).getTotalSeconds();
+        } catch (DateTimeException ex) {
+            expected = null;
+        }
+        int[] offsetSecs = new int[1];
+        try {
+            test.getOffsetSeconds(new long[] {epochSec}, offsetSecs);
+            assertEquals((Integer) offsetSecs[0], expected);
+        } catch (DateTimeException ex) {
+            assertNull(expected, ex.getMessage());
+        }
+    }
+
+    private void assertOffsetSeconds(ZoneRules test, long[] epochSecs, String id) {
+        int[] offsetSecs = new int[epochSecs.length];
+        test.getOffsetSeconds(epochSecs, offsetSecs);
+        for (int i = 0; i < epochSecs.length; i++) {
+            int expected = test.getOffset(Instant.ofEpochSecond(epochSecs[i])).getTotalSeconds();
+            assertEquals(offsetSecs[i], expected, id + " " + Instant.ofEpochSecond(epochSecs[i]));
+        }
+    }
+
     //-------------------------------------------------------------------------
     @Test(expectedExceptions=UnsupportedOperationException.class)
     public void test_getTransitions_immutable() {
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.threeten.bp.zone;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test TzdbZoneRulesProvider.
+ */
+@Test
+public class TestTzdbZoneRulesProvider {
+
+    private static final String TZDB_DAT = "org/threeten/bp/TZDB.dat";
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_load_stream() throws IOException {
+        InputStream in = TestTzdbZoneRulesProvider.class.getClassLoader().getResourceAsStream(TZDB_DAT);
+        TzdbZoneRulesProvider test;
+        try {
+            test = new TzdbZoneRulesProvider(in);
+        } finally {
+            in.close();
+        }
+        assertAllRulesMatch(test);
+    }
+
+    @Test
+    public void test_load_url() {
+        URL url = TestTzdbZoneRulesProvider.class.getClassLoader().getResource(TZDB_DAT);
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(url);
+        assertAllRulesMatch(test);
+    }
+
+    @Test
+    public void test_provideRules_decodedOnce() {
+        URL url = TestTzdbZoneRulesProvider.class.getClassLoader().getResource(TZDB_DAT);
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(url);
+        ZoneRules rules = test.provideRules("Europe/Paris", true);
+        assertSame(test.provideRules("Europe/Paris", true), rules);
+    }
+
+    @Test(expectedExceptions = ZoneRulesException.class)
+    public void test_load_truncated() throws IOException {
+        byte[] bytes = readResource();
+        new TzdbZoneRulesProvider(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length / 2)));
+    }
+
+    @Test(expectedExceptions = ZoneRulesException.class)
+    public void test_load_badFormat() throws IOException {
+        byte[] bytes = readResource();
+        bytes[0] = 3;
+        new TzdbZoneRulesProvider(new ByteArrayInputStream(bytes));
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_provideRules_concurrent() throws Exception {
+        final TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(
+                TestTzdbZoneRulesProvider.class.getClassLoader().getResource(TZDB_DAT));
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ZoneRules>> results = new ArrayList<Future<ZoneRules>>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(new Callable<ZoneRules>() {
+                    @Override
+                    public ZoneRules call() throws Exception {
+                        startLatch.await();
+                        return test.provideRules("America/New_York", true);
+                    }
+                }));
+            }
+            startLatch.countDown();
+            ZoneRules rules = results.get(0).get();
+            for (Future<ZoneRules> result : results) {
+                assertSame(result.get(), rules);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_preloadRules() throws Exception {
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(
+                TestTzdbZoneRulesProvider.class.getClassLoader().getResource(TZDB_DAT));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            test.preloadRules(executor);
+        } finally {
+            executor.shutdown();
+        }
+        assertAllRulesMatch(test);
+    }
+
+    @Test
+    public void test_preloadRules_regions() throws Exception {
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(
+                TestTzdbZoneRulesProvider.class.getClassLoader().getResource(TZDB_DAT));
+        test.preloadRules(Arrays.asList("Europe/London", "Asia/Tokyo"), new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        });
+        assertEquals(test.provideRules("Asia/Tokyo", true), ZoneRulesProvider.getRules("Asia/Tokyo", true));
+    }
+
+    @Test(expectedExceptions = ZoneRulesException.class)
+    public void test_preloadRules_unknownRegion() throws Exception {
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(
+                TestTzdbZoneRulesProvider.class.getClassLoader().getResource(TZDB_DAT));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            test.preloadRules(Arrays.asList("Europe/London", "Unknown/Region"), executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_load_format1() throws IOException {
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(new ByteArrayInputStream(encode(1)));
+        assertAllRulesMatch(test);
+    }
+
+    @Test
+    public void test_load_format2() throws IOException {
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(new ByteArrayInputStream(encode(2)));
+        assertAllRulesMatch(test);
+        for (String zoneId : test.provideZoneIds()) {
+            assertEquals(test.provideVersions(zoneId), ZoneRulesProvider.getVersions(zoneId), zoneId);
+        }
+    }
+
+    @Test
+    public void test_format2_smaller() throws IOException {
+        assertEquals(encode(2).length < encode(1).length, true);
+    }
+
+    @Test
+    public void test_varLong() throws IOException {
+        long[] values = {0, 1, -1, 63, -64, 64, -65, 8191, 8192, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(baos);
+        for (long value : values) {
+            Ser.writeVarLong(value, out);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        for (long value : values) {
+            assertEquals(Ser.readVarLong(in), value);
+        }
+        assertEquals(in.available(), 0);
+    }
+
+    @Test
+    public void test_epochSecs() throws IOException {
+        long[][] arrays = {
+            {},
+            {-2717640000L - 75},
+            {-2717640000L - 75, -1633269600L, -1615129200L, 1300000000L - 100},
+            {-1633269600L, -1615129200L, 1300000000L, 1300003600L},
+        };
+        for (long[] array : arrays) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            Ser.writeEpochSecs(array, new DataOutputStream(baos));
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(baos.toByteArray()));
+            assertEquals(Ser.readEpochSecs(in), array);
+            assertEquals(in.available(), 0);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Encodes the rules of the default provider in the specified file format.
+     */
+    static byte[] encode(int format) throws IOException {
+        TzdbZoneRulesProvider provider = new TzdbZoneRulesProvider(
+                TestTzdbZoneRulesProvider.class.getClassLoader().getResource(TZDB_DAT));
+        Map<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<String, SortedMap<String, ZoneRules>>();
+        Set<ZoneRules> allRules = new HashSet<ZoneRules>();
+        for (String zoneId : provider.provideZoneIds()) {
+            for (Map.Entry<String, ZoneRules> entry : provider.provideVersions(zoneId).entrySet()) {
+                SortedMap<String, ZoneRules> builtZones = allBuiltZones.get(entry.getKey());
+                if (builtZones == null) {
+                    builtZones = new TreeMap<String, ZoneRules>();
+                    allBuiltZones.put(entry.getKey(), builtZones);
+                }
+                builtZones.put(zoneId, entry.getValue());
+                allRules.add(entry.getValue());
+            }
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        TzdbZoneRulesCompiler.outputTzdbDat(baos, format, allBuiltZones, new TreeSet<String>(provider.provideZoneIds()), allRules);
+        return baos.toByteArray();
+    }
+
+    private static void assertAllRulesMatch(TzdbZoneRulesProvider test) {
+        assertEquals(ZoneRulesProvider.getAvailableZoneIds().containsAll(test.provideZoneIds()), true);
+        for (String zoneId : test.provideZoneIds()) {
+            assertEquals(test.provideRules(zoneId, true), ZoneRulesProvider.getRules(zoneId, true), zoneId);
+        }
+    }
+
+    private static byte[] readResource() throws IOException {
+        InputStream in = TestTzdbZoneRulesProvider.class.getClassLoader().getResourceAsStream(TZDB_DAT);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[4096];
+            int count;
+            while ((count = in.read(buf)) >= 0) {
+                out.write(buf, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+}